@@ -20,12 +20,28 @@ public class Board {
     private final Player whitePlayer, blackPlayer, currentPlayer;
     private final Pawn enPassantPawn;
     private final Move transitionMove;
+    private final int halfmoveClock, fullmoveNumber;
+    private final int[] whitePieceCounts, blackPieceCounts;
+    private final int lightSquareBishops, darkSquareBishops;
+    private final long zobristHash;
+    private final Coordinate whiteKingCoordinate, blackKingCoordinate;
 
     private Board(Builder builder) {
         this.gameBoard = createGameBoard(builder);
         this.whitePieces = calculateActivePieces(builder, Alliance.WHITE);
         this.blackPieces = calculateActivePieces(builder, Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
+        this.halfmoveClock = builder.halfmoveClock;
+        this.fullmoveNumber = builder.fullmoveNumber;
+
+        this.whitePieceCounts = calculatePieceCounts(this.whitePieces);
+        this.blackPieceCounts = calculatePieceCounts(this.blackPieces);
+        this.lightSquareBishops = countBishopsOnSquareColor(true);
+        this.darkSquareBishops = countBishopsOnSquareColor(false);
+        this.whiteKingCoordinate = findKingCoordinate(this.whitePieces);
+        this.blackKingCoordinate = findKingCoordinate(this.blackPieces);
+        this.zobristHash = ZobristHashing.calculateHash(this.whitePieces, this.blackPieces, builder.nextMoveMaker,
+                                                        this.enPassantPawn, this);
 
         Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
         Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
@@ -67,6 +83,55 @@ public class Board {
         return Collections.unmodifiableList(activePieces);
     }
 
+    /**
+     * Counts the pieces of each type in a collection of pieces
+     * @param pieces to count
+     * @return an array with the number of pieces, indexed by the ordinal of their PieceType
+     */
+    private static int[] calculatePieceCounts(Collection<Piece> pieces) {
+        final int[] pieceCounts = new int[Piece.PieceType.values().length];
+        for (Piece piece : pieces) {
+            pieceCounts[piece.getPieceType().ordinal()]++;
+        }
+        return pieceCounts;
+    }
+
+    /**
+     * Finds the coordinate of the king in a collection of pieces
+     * @param pieces to search
+     * @return coordinate of the king, or null if there is no king
+     */
+    private static Coordinate findKingCoordinate(Collection<Piece> pieces) {
+        for (Piece piece : pieces) {
+            if (piece.getPieceType() == Piece.PieceType.KING) return piece.getPieceCoordinate();
+        }
+        return null;
+    }
+
+    /**
+     * Counts the bishops of both alliances that stand on a given square color
+     * @param lightSquares true to count bishops on light squares, false for dark squares
+     * @return number of bishops on the given square color
+     */
+    private int countBishopsOnSquareColor(boolean lightSquares) {
+        int bishops = 0;
+        for (Piece piece : this.whitePieces) {
+            if (piece.getPieceType() == Piece.PieceType.BISHOP && isLightSquare(piece.getPieceCoordinate()) == lightSquares) bishops++;
+        }
+        for (Piece piece : this.blackPieces) {
+            if (piece.getPieceType() == Piece.PieceType.BISHOP && isLightSquare(piece.getPieceCoordinate()) == lightSquares) bishops++;
+        }
+        return bishops;
+    }
+
+    /**
+     * @param coordinate to check
+     * @return true if the coordinate is a light square (a8 is light)
+     */
+    private static boolean isLightSquare(Coordinate coordinate) {
+        return (coordinate.getX() + coordinate.getY()) % 2 == 0;
+    }
+
     /**
      * Generates a list of all legal moves given a collection of pieces
      * @param pieces to evaluate legal moves for
@@ -164,6 +229,186 @@ public class Board {
         return this.currentPlayer;
     }
 
+    /**
+     * @return number of halfmoves since the last capture or pawn move
+     */
+    public int getHalfmoveClock() {
+        return this.halfmoveClock;
+    }
+
+    /**
+     * @return number of the current full move, starts at 1 and increases after every black move
+     */
+    public int getFullmoveNumber() {
+        return this.fullmoveNumber;
+    }
+
+    /**
+     * Get the number of pieces of a given type and alliance, without iterating the pieces on the board
+     * @param alliance of the pieces
+     * @param pieceType of the pieces
+     * @return number of pieces of that type belonging to the alliance
+     */
+    public int getPieceCount(Alliance alliance, Piece.PieceType pieceType) {
+        return alliance == Alliance.WHITE ? this.whitePieceCounts[pieceType.ordinal()] : this.blackPieceCounts[pieceType.ordinal()];
+    }
+
+    /**
+     * @return the Zobrist hash of the board, equal boards (pieces, player to move and 'en passant' rights) share a hash
+     */
+    public long getZobristHash() {
+        return this.zobristHash;
+    }
+
+    /**
+     * Check if fifty moves (100 halfmoves) have been made by each player without a capture or a pawn move
+     * @return true if the game is drawn by the fifty-move rule
+     */
+    public boolean isFiftyMoveRuleDraw() {
+        return this.halfmoveClock >= 100;
+    }
+
+    /**
+     * Check if neither player has enough material left to checkmate the other.
+     * This corresponds to king versus king, king and one minor piece versus king,
+     * or kings and bishops where all bishops stand on the same square color.
+     * Uses the piece counts of the board and runs in constant time.
+     * @return true if the position is a dead draw
+     */
+    public boolean hasInsufficientMaterial() {
+        for (Alliance alliance : Alliance.values()) {
+            if (getPieceCount(alliance, Piece.PieceType.PAWN) > 0 ||
+                getPieceCount(alliance, Piece.PieceType.ROOK) > 0 ||
+                getPieceCount(alliance, Piece.PieceType.QUEEN) > 0) {
+                return false;
+            }
+        }
+        final int knights = getPieceCount(Alliance.WHITE, Piece.PieceType.KNIGHT) + getPieceCount(Alliance.BLACK, Piece.PieceType.KNIGHT);
+        final int minorPieces = knights + this.lightSquareBishops + this.darkSquareBishops;
+        if (minorPieces <= 1) return true;
+        return knights == 0 && (this.lightSquareBishops == 0 || this.darkSquareBishops == 0);
+    }
+
+    /**
+     * Static exchange evaluation; resolves the captures on the destination of a move without making any moves,
+     * where both players recapture with their least valuable piece for as long as it pays off.
+     * @param move to evaluate
+     * @return material won (positive) or lost (negative) by the moving player, in centipawns
+     */
+    public int staticExchangeEvaluation(Move move) {
+        return StaticExchangeEvaluation.evaluate(this, move);
+    }
+
+    /**
+     * Checks if a move of the current player puts the opponent in check, without making the move.
+     * The moved piece is checked for a direct attack on the king from its destination, and the line from the king
+     * through the start coordinate is checked for a discovered attack by a rook, bishop or queen.
+     * Castling and 'en passant' moves change more than two tiles, these rare moves are made on the board instead.
+     * @param move of the current player
+     * @return true if the move gives check
+     */
+    public boolean givesCheck(Move move) {
+        final Coordinate kingCoordinate = this.currentPlayer.getAlliance() == Alliance.WHITE ?
+                this.blackKingCoordinate : this.whiteKingCoordinate;
+        if (kingCoordinate == null) return false;
+        if (move.isCastlingMove() || move instanceof Move.PawnEnPassantAttackMove) {
+            return this.currentPlayer.makeMove(move).getTransitionBoard().currentPlayer().isInCheck();
+        }
+
+        final Piece.PieceType pieceType = move instanceof Move.PawnPromotion ?
+                ((Move.PawnPromotion) move).getUpgradeType() : move.getMovedPiece().getPieceType();
+        return attacksCoordinate(pieceType, move.getCurrentCoordinate(), move.getDestinationCoordinate(), kingCoordinate) ||
+                isDiscoveredAttack(move.getCurrentCoordinate(), move.getDestinationCoordinate(), kingCoordinate);
+    }
+
+    /**
+     * Checks if a piece of the current player attacks a coordinate after moving
+     * @param pieceType   of the piece after the move
+     * @param start       coordinate the piece moved from, which is empty after the move
+     * @param destination coordinate the piece moved to
+     * @param target      coordinate to check
+     * @return true if the piece attacks the target from its destination
+     */
+    private boolean attacksCoordinate(Piece.PieceType pieceType, Coordinate start, Coordinate destination, Coordinate target) {
+        final int dx = target.getX() - destination.getX();
+        final int dy = target.getY() - destination.getY();
+        switch (pieceType) {
+            case PAWN: return dy == this.currentPlayer.getAlliance().getDirection() && Math.abs(dx) == 1;
+            case KNIGHT: return Math.abs(dx * dy) == 2;
+            case BISHOP: return Math.abs(dx) == Math.abs(dy) && isLineEmpty(destination, target, start);
+            case ROOK: return (dx == 0 || dy == 0) && isLineEmpty(destination, target, start);
+            case QUEEN: return (Math.abs(dx) == Math.abs(dy) || dx == 0 || dy == 0) && isLineEmpty(destination, target, start);
+            default: return false;
+        }
+    }
+
+    /**
+     * Checks if the tiles between two coordinates on a line are empty after a move
+     * @param from   first coordinate of the line
+     * @param to     last coordinate of the line
+     * @param vacant coordinate that is empty after the move
+     * @return true if no piece stands between the coordinates
+     */
+    private boolean isLineEmpty(Coordinate from, Coordinate to, Coordinate vacant) {
+        final int stepX = Integer.signum(to.getX() - from.getX());
+        final int stepY = Integer.signum(to.getY() - from.getY());
+        int x = from.getX() + stepX, y = from.getY() + stepY;
+        while (x != to.getX() || y != to.getY()) {
+            final Coordinate coordinate = new Coordinate(x, y);
+            if (!coordinate.equals(vacant) && !getTile(coordinate).isEmpty()) return false;
+            x += stepX;
+            y += stepY;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if moving a piece away from its start coordinate opens a line from a rook, bishop or queen
+     * of the current player to a coordinate
+     * @param start       coordinate the piece moved from
+     * @param destination coordinate the piece moved to
+     * @param target      coordinate to check
+     * @return true if the move uncovers an attack on the target
+     */
+    private boolean isDiscoveredAttack(Coordinate start, Coordinate destination, Coordinate target) {
+        final int dx = start.getX() - target.getX();
+        final int dy = start.getY() - target.getY();
+        final boolean diagonal = Math.abs(dx) == Math.abs(dy);
+        if (!diagonal && dx != 0 && dy != 0) return false;
+
+        final int stepX = Integer.signum(dx), stepY = Integer.signum(dy);
+        int x = target.getX() + stepX, y = target.getY() + stepY;
+        while (x >= 0 && x < BoardUtils.getInstance().getWidth() && y >= 0 && y < BoardUtils.getInstance().getHeight()) {
+            final Coordinate coordinate = new Coordinate(x, y);
+            if (coordinate.equals(destination)) return false;
+            if (!coordinate.equals(start) && !getTile(coordinate).isEmpty()) {
+                final Piece piece = getTile(coordinate).getPiece();
+                if (piece.getPieceAlliance() != this.currentPlayer.getAlliance()) return false;
+                final Piece.PieceType pieceType = piece.getPieceType();
+                return pieceType == Piece.PieceType.QUEEN ||
+                        pieceType == (diagonal ? Piece.PieceType.BISHOP : Piece.PieceType.ROOK);
+            }
+            x += stepX;
+            y += stepY;
+        }
+        return false;
+    }
+
+    /**
+     * Creates a copy of the board where the current player passes the turn to the opponent.
+     * Passing is not a legal move in chess; the board is only used by the AI for null move pruning.
+     * @return board with the same pieces and the opponent to move, without 'en passant' rights
+     */
+    public Board makeNullMove() {
+        final Builder builder = new Builder();
+        for (Piece piece : this.whitePieces) builder.setPiece(piece);
+        for (Piece piece : this.blackPieces) builder.setPiece(piece);
+        builder.setMoveMaker(this.currentPlayer.getOpponent().getAlliance());
+        builder.setHalfmoveClock(this.halfmoveClock + 1);
+        builder.setFullmoveNumber(this.fullmoveNumber);
+        return builder.build();
+    }
+
     /**
      * @return the move that changed this board into its current state
      */
@@ -422,6 +667,8 @@ public class Board {
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove = null;
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
 
         /**
          * Construct a Builder object with an empty map.
@@ -448,6 +695,26 @@ public class Board {
             return this;
         }
 
+        /**
+         * Set the number of halfmoves since the last capture or pawn move
+         * @param halfmoveClock halfmoves since last capture or pawn move
+         * @return Builder with this setting
+         */
+        public Builder setHalfmoveClock(int halfmoveClock) {
+            this.halfmoveClock = halfmoveClock;
+            return this;
+        }
+
+        /**
+         * Set the number of the current full move
+         * @param fullmoveNumber number of the full move, starting at 1
+         * @return Builder with this setting
+         */
+        public Builder setFullmoveNumber(int fullmoveNumber) {
+            this.fullmoveNumber = fullmoveNumber;
+            return this;
+        }
+
         /**
          * Sets the pawn that is now open for an 'en passant' attack
          * @param enPassantPawn the pawn that made a pawn jump
@@ -0,0 +1,101 @@
+package board;
+
+import pieces.*;
+
+/**
+ * Helper class for creating boards from the Forsyth-Edwards Notation (FEN),
+ * used to set up the reference positions for perft and search benchmarks.
+ * Note: castling rights are expressed through the first move flags of the kings and rooks,
+ * and pawns are only allowed to jump from their starting rank.
+ *
+ * @see <a href="https://www.chessprogramming.org/Forsyth-Edwards_Notation">Forsyth-Edwards Notation</a>
+ */
+public final class FenUtils {
+
+    private FenUtils() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    /**
+     * Constructs a board from a FEN string, the halfmove clock and fullmove number fields are optional
+     *
+     * @param fen string describing the position
+     * @return a Board with the layout described by the FEN string
+     */
+    public static Board createBoardFromFen(String fen) {
+        final String[] fields = fen.trim().split("\\s+");
+        if (fields.length < 4) throw new IllegalArgumentException("Invalid FEN: " + fen);
+
+        final String castlingRights = fields[2];
+        final Board.Builder builder = new Board.Builder();
+        final String[] ranks = fields[0].split("/");
+        if (ranks.length != BoardUtils.getInstance().getHeight()) throw new IllegalArgumentException("Invalid FEN: " + fen);
+
+        for (int y = 0; y < ranks.length; y++) {
+            int x = 0;
+            for (char c : ranks[y].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    x += c - '0';
+                } else {
+                    builder.setPiece(createPiece(c, new Coordinate(x, y), castlingRights));
+                    x++;
+                }
+            }
+            if (x != BoardUtils.getInstance().getWidth()) throw new IllegalArgumentException("Invalid FEN: " + fen);
+        }
+
+        final Alliance moveMaker = fields[1].equals("w") ? Alliance.WHITE : Alliance.BLACK;
+        builder.setMoveMaker(moveMaker);
+
+        // the pawn that jumped stands one step past the 'en passant' square, seen from the player to move
+        if (!fields[3].equals("-")) {
+            final Coordinate enPassantSquare = BoardUtils.getInstance().getCoordinateFromAlgebraicNotation(fields[3]);
+            final Coordinate pawnCoordinate = new Coordinate(enPassantSquare.getX(),
+                    enPassantSquare.getY() - moveMaker.getDirection());
+            final Piece pawn = builder.boardConfig.get(pawnCoordinate);
+            if (pawn instanceof Pawn) builder.setEnPassantPawn((Pawn) pawn);
+        }
+
+        if (fields.length > 4) builder.setHalfmoveClock(Integer.parseInt(fields[4]));
+        if (fields.length > 5) builder.setFullmoveNumber(Integer.parseInt(fields[5]));
+        return builder.build();
+    }
+
+    /**
+     * Creates a piece from its FEN character
+     *
+     * @param c              FEN character, upper case for white and lower case for black
+     * @param coordinate     of the piece
+     * @param castlingRights castling field of the FEN string
+     * @return the piece described by the character
+     */
+    private static Piece createPiece(char c, Coordinate coordinate, String castlingRights) {
+        final Alliance alliance = Character.isUpperCase(c) ? Alliance.WHITE : Alliance.BLACK;
+        final int homeRank = alliance == Alliance.WHITE ? BoardUtils.getInstance().getHeight() - 1 : 0;
+        final int lastFile = BoardUtils.getInstance().getWidth() - 1;
+        switch (Character.toLowerCase(c)) {
+            case 'p': {
+                final int pawnRank = alliance == Alliance.WHITE ? homeRank - 1 : homeRank + 1;
+                return new Pawn(coordinate, alliance, coordinate.getY() == pawnRank);
+            }
+            case 'n': return new Knight(coordinate, alliance, false);
+            case 'b': return new Bishop(coordinate, alliance, false);
+            case 'q': return new Queen(coordinate, alliance, false);
+            case 'k': {
+                final String rights = alliance == Alliance.WHITE ? "KQ" : "kq";
+                final boolean canCastle = castlingRights.indexOf(rights.charAt(0)) >= 0 || castlingRights.indexOf(rights.charAt(1)) >= 0;
+                return new King(coordinate, alliance, canCastle, false);
+            }
+            case 'r': {
+                boolean canCastle = false;
+                if (coordinate.getY() == homeRank && coordinate.getX() == lastFile) {
+                    canCastle = castlingRights.indexOf(alliance == Alliance.WHITE ? 'K' : 'k') >= 0;
+                } else if (coordinate.getY() == homeRank && coordinate.getX() == 0) {
+                    canCastle = castlingRights.indexOf(alliance == Alliance.WHITE ? 'Q' : 'q') >= 0;
+                }
+                return new Rook(coordinate, alliance, canCastle);
+            }
+            default: throw new IllegalArgumentException("Invalid FEN piece: " + c);
+        }
+    }
+}
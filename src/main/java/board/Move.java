@@ -105,9 +105,23 @@ public abstract class Move {
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         // this move changed the board
         builder.setMoveTransition(this);
+        setMoveCounters(builder);
         return builder.build();
     }
 
+    /**
+     * Carries the halfmove clock and the fullmove number over to the board created by this move.
+     * The halfmove clock is reset by pawn moves and captures, the fullmove number increases after black has moved.
+     *
+     * @param builder for the board that this move creates
+     */
+    void setMoveCounters(Builder builder) {
+        final boolean resetsHalfmoveClock = this.movedPiece.getPieceType() == PieceType.PAWN || this.isAttack();
+        builder.setHalfmoveClock(resetsHalfmoveClock ? 0 : this.board.getHalfmoveClock() + 1);
+        builder.setFullmoveNumber(this.board.currentPlayer().getAlliance() == Alliance.BLACK ?
+                this.board.getFullmoveNumber() + 1 : this.board.getFullmoveNumber());
+    }
+
     /**
      * @return Board object which the move is operating on
      */
@@ -263,6 +277,7 @@ public abstract class Move {
 
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
             return builder.build();
         }
 
@@ -328,6 +343,7 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
             return builder.build();
         }
     }
@@ -369,6 +385,7 @@ public abstract class Move {
             builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance(), false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
             return builder.build();
         }
 
@@ -463,6 +480,7 @@ public abstract class Move {
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            setMoveCounters(builder);
             return builder.build();
         }
 
@@ -0,0 +1,170 @@
+package board;
+
+import player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Performance test (perft) for the move generation; counts the leaf nodes of the legal move tree of a board
+ * to a given depth. The counts can be compared against known values of reference positions to validate
+ * the move generation, and the time taken is a benchmark for the board and pieces packages.
+ * The parallel version splits the root moves and the subtrees below them across a ForkJoinPool,
+ * while sharing a lock-free PerftHashTable between the threads.
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft">Perft</a>
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">Perft results</a>
+ */
+public final class Perft {
+    /**
+     * Subtrees at or below this depth are counted sequentially by the thread that reached them
+     */
+    private static final int SEQUENTIAL_DEPTH = 2;
+
+    private static final String[] REFERENCE_NAMES = {"Initial position", "Kiwipete", "Position 3", "Position 4", "Position 5"};
+    private static final String[] REFERENCE_FENS = {
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+    };
+    private static final long[][] REFERENCE_COUNTS = {
+            {20, 400, 8902, 197281, 4865609, 119060324, 3195901860L},
+            {48, 2039, 97862, 4085603, 193690690, 8031647685L},
+            {14, 191, 2812, 43238, 674624, 11030083, 178633661},
+            {6, 264, 9467, 422333, 15833292, 706045033},
+            {44, 1486, 62379, 2103487, 89941194}
+    };
+
+    private Perft() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree on a single thread
+     *
+     * @param board to start from
+     * @param depth of the move tree
+     * @return number of leaf nodes
+     */
+    public static long perft(Board board, int depth) {
+        if (depth == 0) return 1;
+        long nodes = 0;
+        for (Board child : calculateLegalBoards(board)) {
+            nodes += perft(child, depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf nodes of the legal move tree on all available cores, sharing a perft hash table
+     *
+     * @param board       to start from
+     * @param depth       of the move tree
+     * @param parallelism number of threads to use
+     * @param hashTable   table shared between the threads, may be null
+     * @return number of leaf nodes
+     */
+    public static long parallelPerft(Board board, int depth, int parallelism, PerftHashTable hashTable) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new PerftTask(board, depth, hashTable));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates the boards of every legal move for the current player
+     *
+     * @param board to make moves on
+     * @return the boards that the legal moves lead to
+     */
+    private static List<Board> calculateLegalBoards(Board board) {
+        final List<Board> legalBoards = new ArrayList<>();
+        for (Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) legalBoards.add(transition.getTransitionBoard());
+        }
+        return legalBoards;
+    }
+
+    /**
+     * Task that counts the subtree of a board, forking a new task for every legal move until the
+     * subtree is small enough to be counted sequentially
+     */
+    private static final class PerftTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+        private final Board board;
+        private final int depth;
+        private final PerftHashTable hashTable;
+
+        PerftTask(Board board, int depth, PerftHashTable hashTable) {
+            this.board = board;
+            this.depth = depth;
+            this.hashTable = hashTable;
+        }
+
+        @Override
+        protected Long compute() {
+            return countNodes(this.board, this.depth);
+        }
+
+        private long countNodes(Board board, int depth) {
+            if (depth == 0) return 1;
+            if (this.hashTable != null && depth > 1) {
+                final long storedNodes = this.hashTable.probe(board.getZobristHash(), depth);
+                if (storedNodes >= 0) return storedNodes;
+            }
+
+            final List<Board> legalBoards = calculateLegalBoards(board);
+            long nodes = 0;
+            if (depth == 1) {
+                nodes = legalBoards.size();
+            } else if (depth <= SEQUENTIAL_DEPTH) {
+                for (Board child : legalBoards) nodes += countNodes(child, depth - 1);
+            } else {
+                final List<PerftTask> subtasks = new ArrayList<>(legalBoards.size());
+                for (Board child : legalBoards) subtasks.add(new PerftTask(child, depth - 1, this.hashTable));
+                for (PerftTask subtask : invokeAll(subtasks)) nodes += subtask.join();
+            }
+
+            if (this.hashTable != null && depth > 1) this.hashTable.store(board.getZobristHash(), depth, nodes);
+            return nodes;
+        }
+    }
+
+    /**
+     * Runs perft on the reference positions and compares the results against the known node counts.
+     * Every depth is counted with one thread and with all available cores to show how the search scales.
+     *
+     * @param args optional; maximum depth (default 4), number of threads (default all cores), hash size in MB (default 256)
+     */
+    public static void main(String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int hashSize = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+        for (int i = 0; i < REFERENCE_FENS.length; i++) {
+            final Board board = FenUtils.createBoardFromFen(REFERENCE_FENS[i]);
+            System.out.println(REFERENCE_NAMES[i] + ": " + REFERENCE_FENS[i]);
+            for (int depth = 1; depth <= Math.min(maxDepth, REFERENCE_COUNTS[i].length); depth++) {
+                long startTime = System.currentTimeMillis();
+                final long singleThreadNodes = parallelPerft(board, depth, 1, new PerftHashTable(hashSize));
+                final long singleThreadTime = System.currentTimeMillis() - startTime;
+
+                startTime = System.currentTimeMillis();
+                final long nodes = parallelPerft(board, depth, threads, new PerftHashTable(hashSize));
+                final long parallelTime = System.currentTimeMillis() - startTime;
+
+                final long expected = REFERENCE_COUNTS[i][depth - 1];
+                System.out.println("\tdepth " + depth + ": " + nodes + (nodes == expected && singleThreadNodes == nodes ? " OK" : " MISMATCH, expected " + expected) +
+                        " | 1 thread: " + singleThreadTime + "ms | " + threads + " threads: " + parallelTime + "ms" +
+                        " | speedup: " + String.format("%.2f", singleThreadTime / (double) Math.max(1, parallelTime)));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package board;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free hash table that stores perft node counts keyed by position hash and depth.
+ * Every slot holds two longs; the data (node count and depth) and the position hash XOR'ed with the data.
+ * A slot that was torn by two threads writing at the same time fails the XOR check and is treated as a miss,
+ * which means that the table can be shared between threads without any locking.
+ *
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">Lockless hashing</a>
+ */
+public final class PerftHashTable {
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+    private static final long DEPTH_MIX = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray slots;
+    private final int indexMask;
+
+    /**
+     * Construct a perft hash table
+     *
+     * @param sizeInMegabytes memory used by the table, rounded down to a power of two number of slots
+     */
+    public PerftHashTable(int sizeInMegabytes) {
+        final long slotCount = Math.max(1L, ((long) sizeInMegabytes << 20) / (2 * Long.BYTES));
+        final int slots = (int) Long.highestOneBit(Math.min(slotCount, 1L << 29));
+        this.slots = new AtomicLongArray(slots * 2);
+        this.indexMask = slots - 1;
+    }
+
+    /**
+     * Look up the node count for a position searched to a given depth
+     *
+     * @param hash  Zobrist hash of the position
+     * @param depth of the perft search
+     * @return the stored node count, or -1 if the position is not in the table
+     */
+    public long probe(long hash, int depth) {
+        final int index = index(hash, depth);
+        final long data = this.slots.get(index + 1);
+        if ((this.slots.get(index) ^ data) == hash && (data & DEPTH_MASK) == depth) {
+            return data >>> DEPTH_BITS;
+        }
+        return -1;
+    }
+
+    /**
+     * Store the node count for a position searched to a given depth, always replacing the old slot content
+     *
+     * @param hash  Zobrist hash of the position
+     * @param depth of the perft search
+     * @param nodes node count found
+     */
+    public void store(long hash, int depth, long nodes) {
+        final int index = index(hash, depth);
+        final long data = (nodes << DEPTH_BITS) | (depth & DEPTH_MASK);
+        this.slots.set(index, hash ^ data);
+        this.slots.set(index + 1, data);
+    }
+
+    /**
+     * The depth is mixed into the index so that the counts of one position at different depths do not compete for a slot
+     */
+    private int index(long hash, int depth) {
+        final long mixed = hash ^ (depth * DEPTH_MIX);
+        return (int) ((mixed ^ (mixed >>> 32)) & this.indexMask) * 2;
+    }
+}
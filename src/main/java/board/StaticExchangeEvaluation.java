@@ -0,0 +1,171 @@
+package board;
+
+import pieces.Alliance;
+import pieces.Piece;
+import pieces.Piece.PieceType;
+
+/**
+ * Helper class that resolves the sequence of captures on a single square without making any moves.
+ * Both players recapture with their least valuable attacker, and either player may stop capturing when
+ * continuing would lose material. Pieces behind a capturing rook, bishop or queen (x-rays) join the exchange
+ * once the piece in front of them has captured. Pins and checks are ignored.
+ *
+ * @see <a href="https://www.chessprogramming.org/Static_Exchange_Evaluation">Static Exchange Evaluation</a>
+ */
+final class StaticExchangeEvaluation {
+    private static final int WIDTH = 8;
+    private static final int SQUARES = 64;
+    private static final int[][] KNIGHT_OFFSETS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}};
+    private static final int[][] DIAGONAL_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] ORTHOGONAL_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private StaticExchangeEvaluation() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    /**
+     * Calculates the material the player making a move wins or loses on its destination square
+     *
+     * @param board the move is made on
+     * @param move  to evaluate
+     * @return material balance of the exchange in centipawns, from the view of the moving player
+     */
+    static int evaluate(Board board, Move move) {
+        if (move.isCastlingMove()) return 0;
+
+        final Piece[] squares = new Piece[SQUARES];
+        long occupied = 0L;
+        for (Piece piece : board.getWhitePieces()) occupied |= place(squares, piece);
+        for (Piece piece : board.getBlackPieces()) occupied |= place(squares, piece);
+
+        final int target = squareIndex(move.getDestinationCoordinate());
+        occupied &= ~(1L << squareIndex(move.getCurrentCoordinate()));
+
+        final int[] gain = new int[32];
+        int pieceOnTarget = move.getMovedPiece().getPieceType().getPieceValue();
+        if (move.isAttack()) {
+            gain[0] = move.getAttackedPiece().getPieceType().getPieceValue();
+            // the pawn taken 'en passant' does not stand on the target square
+            occupied &= ~(1L << squareIndex(move.getAttackedPiece().getPieceCoordinate()));
+        }
+        if (move instanceof Move.PawnPromotion) {
+            final int upgradeValue = ((Move.PawnPromotion) move).getUpgradeType().getPieceValue();
+            gain[0] += upgradeValue - pieceOnTarget;
+            pieceOnTarget = upgradeValue;
+        }
+
+        Alliance side = move.getMovedPiece().getPieceAlliance() == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+        int depth = 0;
+        do {
+            depth++;
+            // what the exchange is worth if the piece on the target is captured next
+            gain[depth] = pieceOnTarget - gain[depth - 1];
+            final int attacker = leastValuableAttacker(squares, occupied, target, side);
+            if (attacker < 0) break;
+            occupied &= ~(1L << attacker);
+            pieceOnTarget = squares[attacker].getPieceType().getPieceValue();
+            side = side == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+        } while (depth + 1 < gain.length);
+
+        // every player may stop capturing, when that is better than continuing the exchange
+        while (--depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * Finds the least valuable piece of a player that attacks a square
+     *
+     * @param squares  pieces of the board indexed by square
+     * @param occupied bit set of the squares that still hold a piece
+     * @param target   square index of the attacked square
+     * @param alliance of the attacking player
+     * @return square index of the attacker, or -1 if the square is not attacked
+     */
+    private static int leastValuableAttacker(Piece[] squares, long occupied, int target, Alliance alliance) {
+        final int targetX = target % WIDTH, targetY = target / WIDTH;
+        int bestSquare = -1, bestValue = Integer.MAX_VALUE;
+
+        // a pawn attacks diagonally forward, so it stands one row behind the target
+        final int pawnY = targetY - alliance.getDirection();
+        for (int dx = -1; dx <= 1; dx += 2) {
+            final int square = attackerAt(squares, occupied, targetX + dx, pawnY, alliance, PieceType.PAWN);
+            if (square >= 0) return square;
+        }
+        for (int[] offset : KNIGHT_OFFSETS) {
+            final int square = attackerAt(squares, occupied, targetX + offset[0], targetY + offset[1], alliance, PieceType.KNIGHT);
+            if (square >= 0) return square;
+        }
+        for (int[] direction : DIAGONAL_DIRECTIONS) {
+            final int square = firstPieceOnRay(occupied, targetX, targetY, direction);
+            if (square >= 0 && isSlider(squares[square], alliance, PieceType.BISHOP) &&
+                    squares[square].getPieceType().getPieceValue() < bestValue) {
+                bestSquare = square;
+                bestValue = squares[square].getPieceType().getPieceValue();
+            }
+        }
+        for (int[] direction : ORTHOGONAL_DIRECTIONS) {
+            final int square = firstPieceOnRay(occupied, targetX, targetY, direction);
+            if (square >= 0 && isSlider(squares[square], alliance, PieceType.ROOK) &&
+                    squares[square].getPieceType().getPieceValue() < bestValue) {
+                bestSquare = square;
+                bestValue = squares[square].getPieceType().getPieceValue();
+            }
+        }
+        if (bestSquare >= 0) return bestSquare;
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+                final int square = attackerAt(squares, occupied, targetX + dx, targetY + dy, alliance, PieceType.KING);
+                if (square >= 0) return square;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return square index of a piece of the given alliance and type at (x, y), or -1 if there is none
+     */
+    private static int attackerAt(Piece[] squares, long occupied, int x, int y, Alliance alliance, PieceType pieceType) {
+        if (x < 0 || x >= WIDTH || y < 0 || y >= WIDTH) return -1;
+        final int square = y * WIDTH + x;
+        if ((occupied & (1L << square)) == 0) return -1;
+        final Piece piece = squares[square];
+        return piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType ? square : -1;
+    }
+
+    /**
+     * @return square index of the first occupied square from (x, y) in a direction, or -1 if the ray is empty
+     */
+    private static int firstPieceOnRay(long occupied, int x, int y, int[] direction) {
+        x += direction[0];
+        y += direction[1];
+        while (x >= 0 && x < WIDTH && y >= 0 && y < WIDTH) {
+            final int square = y * WIDTH + x;
+            if ((occupied & (1L << square)) != 0) return square;
+            x += direction[0];
+            y += direction[1];
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if the piece belongs to the alliance and moves like the given slider type, or is a queen
+     */
+    private static boolean isSlider(Piece piece, Alliance alliance, PieceType sliderType) {
+        return piece.getPieceAlliance() == alliance &&
+                (piece.getPieceType() == sliderType || piece.getPieceType() == PieceType.QUEEN);
+    }
+
+    private static long place(Piece[] squares, Piece piece) {
+        final int square = squareIndex(piece.getPieceCoordinate());
+        squares[square] = piece;
+        return 1L << square;
+    }
+
+    private static int squareIndex(Coordinate coordinate) {
+        return coordinate.getY() * WIDTH + coordinate.getX();
+    }
+}
@@ -0,0 +1,109 @@
+package board;
+
+import pieces.Alliance;
+import pieces.King;
+import pieces.Pawn;
+import pieces.Piece;
+import pieces.Rook;
+
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Helper class that computes Zobrist hashes for boards.
+ * Every combination of piece, square and piece state is assigned a random 64-bit key,
+ * and the hash of a board is the XOR of the keys of its contents.
+ * Note: the piece state (first move, castled) is part of the key since it decides castling rights
+ * and pawn jumps in this engine. The first move of the other pieces changes none of their moves, and is left out,
+ * so that a knight that moves away and back again gives the same hash as before.
+ *
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist Hashing</a>
+ */
+final class ZobristHashing {
+    private static final int SQUARES = 64;
+    private static final int PIECE_STATES = 4;
+    private static final long[][][][] PIECE_KEYS = new long[Alliance.values().length][Piece.PieceType.values().length][PIECE_STATES][SQUARES];
+    private static final long[] EN_PASSANT_FILE_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        // fixed seed, hashes are reproducible between runs
+        final Random random = new Random(0x5DEECE66DL);
+        for (long[][][] allianceKeys : PIECE_KEYS) {
+            for (long[][] pieceKeys : allianceKeys) {
+                for (long[] stateKeys : pieceKeys) {
+                    for (int square = 0; square < SQUARES; square++) {
+                        stateKeys[square] = random.nextLong();
+                    }
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_FILE_KEYS.length; file++) {
+            EN_PASSANT_FILE_KEYS[file] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private ZobristHashing() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    /**
+     * Calculates the hash of a board layout
+     *
+     * @param whitePieces    the white pieces on the board
+     * @param blackPieces    the black pieces on the board
+     * @param moveMaker      alliance of the player to move
+     * @param enPassantPawn  pawn open for an 'en passant' attack, may be null
+     * @param board          the board being hashed, used to check if 'en passant' is possible
+     * @return 64-bit hash of the board layout
+     */
+    static long calculateHash(Collection<Piece> whitePieces, Collection<Piece> blackPieces, Alliance moveMaker,
+                              Pawn enPassantPawn, Board board) {
+        long hash = 0L;
+        for (Piece piece : whitePieces) hash ^= pieceKey(piece);
+        for (Piece piece : blackPieces) hash ^= pieceKey(piece);
+        if (moveMaker == Alliance.BLACK) hash ^= BLACK_TO_MOVE_KEY;
+        if (enPassantPawn != null && isEnPassantCapturePossible(enPassantPawn, moveMaker, board)) {
+            hash ^= EN_PASSANT_FILE_KEYS[enPassantPawn.getPieceCoordinate().getX()];
+        }
+        return hash;
+    }
+
+    /**
+     * Get the key of a piece on its square
+     *
+     * @param piece to get key for
+     * @return the Zobrist key of the piece
+     */
+    private static long pieceKey(Piece piece) {
+        final Coordinate coordinate = piece.getPieceCoordinate();
+        return PIECE_KEYS[piece.getPieceAlliance().ordinal()][piece.getPieceType().ordinal()][pieceState(piece)]
+                [coordinate.getY() * 8 + coordinate.getX()];
+    }
+
+    /**
+     * Encodes the state of a piece; bit 0 = first move of a king, rook or pawn, bit 1 = castled king
+     */
+    private static int pieceState(Piece piece) {
+        final boolean firstMoveMatters = piece instanceof King || piece instanceof Rook || piece instanceof Pawn;
+        int state = firstMoveMatters && piece.isFirstMove() ? 1 : 0;
+        if (piece instanceof King && ((King) piece).isCastled()) state |= 2;
+        return state;
+    }
+
+    /**
+     * The 'en passant' file only matters for the hash when a pawn of the player to move stands next to the pawn that jumped
+     */
+    private static boolean isEnPassantCapturePossible(Pawn enPassantPawn, Alliance moveMaker, Board board) {
+        if (enPassantPawn.getPieceAlliance() == moveMaker) return false;
+        final Coordinate coordinate = enPassantPawn.getPieceCoordinate();
+        for (int dx = -1; dx <= 1; dx += 2) {
+            final Coordinate neighbour = new Coordinate(coordinate.getX() + dx, coordinate.getY());
+            if (!BoardUtils.getInstance().isValidCoordinate(neighbour)) continue;
+            final Piece piece = board.getTile(neighbour).getPiece();
+            if (piece instanceof Pawn && piece.getPieceAlliance() == moveMaker) return true;
+        }
+        return false;
+    }
+}
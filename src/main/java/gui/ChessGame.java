@@ -41,7 +41,11 @@ import javafx.util.Duration;
 import pieces.Alliance;
 import pieces.Piece;
 
+import java.util.List;
+
 public class ChessGame extends Application {
+    //Number of moves suggested by a hint, the best move and its ranked alternatives
+    private static final int HINT_COUNT = 3;
     private double windowWidth = Screen.getPrimary().getBounds().getWidth();
     private double windowHeight = Screen.getPrimary().getBounds().getHeight();
     private Stage primaryStage;
@@ -61,7 +65,10 @@ public class ChessGame extends Application {
         this.primaryStage = primaryStage;
         primaryStage.setTitle("Java Chess");
         primaryStage.getIcons().add(resources.AppIcon);
-        primaryStage.setOnCloseRequest(event -> Platform.exit());
+        primaryStage.setOnCloseRequest(event -> {
+            if (gameStateManager != null) gameStateManager.cancelSearches();
+            Platform.exit();
+        });
         primaryStage.widthProperty().addListener((observable, oldValue, newValue) -> {
             windowWidth = newValue.doubleValue();
             if (gameStateManager != null) {
@@ -87,6 +94,8 @@ public class ChessGame extends Application {
      * @param gameStateManager already constructed GameStateManager object
      */
     public void setGameManager(GameStateManager gameStateManager) {
+        //Searches of the previous game are not needed anymore
+        if (this.gameStateManager != null) this.gameStateManager.cancelSearches();
         this.gameStateManager = gameStateManager;
         gameStateManager.addMainGUIComponent(this);
     }
@@ -243,7 +252,8 @@ public class ChessGame extends Application {
         Task AITask = new Task() {
             @Override
             protected Object call() {
-                gameStateManager.makeAIMove();
+                //Nothing to redraw if the search was cancelled
+                if (!gameStateManager.makeAIMove()) return null;
                 informationToggle.toggleMoveAnimation();
                 //Redraw
                 Platform.runLater(ChessGame.this::drawChessPane);
@@ -264,7 +274,8 @@ public class ChessGame extends Application {
     }
 
     /**
-     * Lets the AI calculate the best move on the current board for the current player and displays it.
+     * Lets the AI calculate the best moves on the current board for the current player and displays them,
+     * the best move and its alternatives are found by one search.
      */
     public void showMoveHint() {
         new Thread(new Task() {
@@ -272,11 +283,15 @@ public class ChessGame extends Application {
             protected Object call() {
                 //Empty any ongoing player move
                 moveDescription.resetDescription();
-                //Let AI find "best" move
-                Move hintMove = gameStateManager.getHint(4, 1000);
+                //Let AI find "best" moves
+                List<Move> hintMoves = gameStateManager.getHints(4, HINT_COUNT);
+                //A newer hint, undo or new game cancelled this hint, or a move was made while searching
+                if (hintMoves == null || hintMoves.isEmpty()) return null;
                 //Set coordinates found
+                Move hintMove = hintMoves.get(0);
                 moveDescription.setHintStartCoordinate(hintMove.getCurrentCoordinate());
                 moveDescription.setHintDestinationCoordinate(hintMove.getDestinationCoordinate());
+                moveDescription.setAlternativeHints(hintMoves.subList(1, hintMoves.size()));
                 //Redraw to show coordinates found
                 Platform.runLater(() -> {
                     drawChessPane();
@@ -419,6 +434,16 @@ public class ChessGame extends Application {
             } else if (hintStartCoordinate != null && hintDestinationCoordinate != null) {
                 if (coordinateId.equals(hintStartCoordinate)) tileColor = Color.LIGHTGREEN;
                 else if (coordinateId.equals(hintDestinationCoordinate)) tileColor = Color.GREENYELLOW;
+                else {
+                    //Destinations of the alternatives fade with their rank, the next best move is the brightest
+                    List<Move> alternativeHints = moveDescription.getAlternativeHints();
+                    for (int i = 0; i < alternativeHints.size(); i++) {
+                        if (coordinateId.equals(alternativeHints.get(i).getDestinationCoordinate())) {
+                            tileColor = Color.KHAKI.interpolate(tileColor, i / (double) alternativeHints.size());
+                            break;
+                        }
+                    }
+                }
             }
 
             return tileColor;
@@ -8,13 +8,19 @@ import pieces.Piece;
 import player.MoveTransition;
 import player.Score;
 import player.basicAI.BoardEvaluator;
+import player.basicAI.CandidateMove;
+import player.basicAI.Difficulty;
 import player.basicAI.MiniMax;
-import player.basicAI.MoveStrategy;
 import player.basicAI.RegularBoardEvaluator;
+import player.basicAI.SearchHandle;
+import player.basicAI.SearchLimits;
+import player.basicAI.SearchResult;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -30,7 +36,17 @@ public class GameStateManager {
     private String whitePlayerStats, blackPlayerStats;
     private int whitePlayerScore, blackPlayerScore;
     private boolean isWhiteAI, isBlackAI;
-    private final int aiDepth;
+    //Node, time and depth budget of every AI move
+    private final Difficulty difficulty;
+    //Engine of the game, used for the AI players and hints, kept for the whole game so that it can ponder
+    //and every search can reuse what the previous ones learned
+    private final MiniMax engine;
+    //Evaluates boards that the engine has not searched
+    private final BoardEvaluator boardEvaluator = new RegularBoardEvaluator(true);
+    //Searches running in the background, so that they can be cancelled
+    private volatile SearchHandle aiSearch, hintSearch;
+    //Result of the last AI move or hint search, its line is expected to be played
+    private volatile SearchResult lastResult;
 
     //Move history, even = white moves, odd = black moves
     private final List<Move> moveHistory = new ArrayList<>();
@@ -46,16 +62,18 @@ public class GameStateManager {
      * @param blackUserName username of black player
      * @param isWhiteAI     if white ai is playing
      * @param isBlackAI     if black ai is playing
-     * @param aiDepth       depth that ai should use for its search
+     * @param difficulty    level of the ai, sets the budget of its searches
      * @param gameMode     enum ex. GameMode.RANDOM, GameMode.HORDE etc
      */
-    public GameStateManager(String whiteUsername, String blackUserName, boolean isWhiteAI, boolean isBlackAI, int aiDepth, GameMode gameMode) {
+    public GameStateManager(String whiteUsername, String blackUserName, boolean isWhiteAI, boolean isBlackAI, Difficulty difficulty, GameMode gameMode) {
         this.whiteUsername = whiteUsername;
         this.blackUsername = blackUserName;
         this.isWhiteAI = isWhiteAI;
         this.isBlackAI = isBlackAI;
-        this.aiDepth = aiDepth;
+        this.difficulty = difficulty;
         this.gameMode = gameMode;
+        this.engine = new MiniMax(difficulty.getMaxDepth(), 1000, true, false, MiniMax.DEFAULT_HASH_SIZE,
+                difficulty.getThreadCount());
 
         if (gameMode.equals(GameMode.RANDOM)) this.chessDataBoard = Board.createRandomBoard();
         else if (gameMode.equals(GameMode.TUTOR)) {
@@ -84,6 +102,8 @@ public class GameStateManager {
         MoveTransition moveTransition = chessDataBoard.currentPlayer().makeMove(moveAttempt);
 
         if (moveTransition.getMoveStatus().isDone()) {
+            //A hint for the old position is not needed anymore, and would hold up the AI's answer
+            cancelHint();
             if (moveAttempt instanceof PawnPromotion) {
                 if (mainGUI == null) throw new IllegalStateException("State manager not supplied with main GUI");
                 Piece.PieceType userSelectedType = mainGUI.showPromotionWindow();
@@ -109,22 +129,36 @@ public class GameStateManager {
     }
 
     /**
-     * Lets the AI make a move on the board
+     * Lets the AI make a move on the board, blocks until the AI's search is done or cancelled
      *
      * @return returns true if move was made, false otherwise
      */
     boolean makeAIMove() {
         if ((currentPlayerAlliance() == Alliance.WHITE && isWhiteAI) || (currentPlayerAlliance() == Alliance.BLACK && isBlackAI)) {
-            MoveStrategy moveStrategy = new MiniMax(aiDepth, 1000, true, true);
-            final Move AIMove = moveStrategy.execute(chessDataBoard);
+            final Board searchedBoard = chessDataBoard;
+            //The AI's search waits for a running hint search, and that wait counts against its move time
+            cancelHint();
+            engine.setGameHistory(boardHistory);
+            final SearchHandle search = engine.start(searchedBoard, difficulty.getSearchLimits());
+            aiSearch = search;
+            final SearchResult result = awaitSearch(search);
+            //The search was cancelled, or the board was changed (undo, new game) while searching
+            if (result == null || searchedBoard != chessDataBoard) return false;
+            final Move AIMove = result.getBestMove();
             final MoveTransition moveTransition = chessDataBoard.currentPlayer().makeMove(AIMove);
 
             if (moveTransition.getMoveStatus().isDone()) {
+                lastResult = result;
                 //clear out undone boards and moves
                 chessDataBoard = moveTransition.getTransitionBoard();
                 moveHistory.add(AIMove);
                 boardHistory.add(chessDataBoard);
                 if (AIMove.isAttack()) takenPieces.add(AIMove.getAttackedPiece());
+                //Think on the human player's time
+                if (!isWhiteAI || !isBlackAI) {
+                    engine.setGameHistory(boardHistory);
+                    engine.ponder(chessDataBoard);
+                }
                 return true;
             }
         }
@@ -136,6 +170,7 @@ public class GameStateManager {
      * 3 moves have been made on the current board
      */
     public void undoMove() {
+        cancelSearches();
         if (boardHistory.size() < 3 || moveHistory.isEmpty()) return;
         for (int i = 0; i < 2; i++) {
             boardHistory.remove(boardHistory.size() - 1);
@@ -156,11 +191,22 @@ public class GameStateManager {
     }
 
     /**
-     * Sets the toggles for white and black ai to false
+     * Sets the toggles for white and black ai to false, and cancels any search of the AI
      */
     public void killAI() {
         this.isBlackAI = false;
         this.isWhiteAI = false;
+        cancelSearches();
+    }
+
+    /**
+     * Cancels the AI's move search, its pondering and any hint search that is still running
+     */
+    public void cancelSearches() {
+        final SearchHandle search = aiSearch;
+        if (search != null) search.cancel();
+        cancelHint();
+        engine.cancelPondering();
     }
 
     /**
@@ -220,20 +266,22 @@ public class GameStateManager {
     public boolean isGameOver() {
         boolean checkmate = chessDataBoard.currentPlayer().isInCheckmate();
         boolean stalemate = chessDataBoard.currentPlayer().isInStalemate();
-        boolean repetition = isDraw();
+        boolean draw = isDraw();
 
         //For horde mode game over condition
         boolean allBlackPiecesTaken = chessDataBoard.getBlackPlayer().getActivePieces().isEmpty();
 
-        return checkmate || stalemate || repetition || allBlackPiecesTaken;
+        return checkmate || stalemate || draw || allBlackPiecesTaken;
     }
 
     /**
-     * Check if a single board state is repeated within the last 5 turns to check if its a draw
+     * Check if the game is a draw; a single board state is repeated within the last 5 turns,
+     * the fifty-move rule applies, or neither player has enough material left to checkmate
      *
      * @return true if its a draw, false otherwise
      */
     public boolean isDraw() {
+        if (chessDataBoard.isFiftyMoveRuleDraw() || chessDataBoard.hasInsufficientMaterial()) return true;
         int counter = 0;
         for (Board b : boardHistory) {
             if (chessDataBoard.toString().equals(b.toString())) counter++;
@@ -271,19 +319,23 @@ public class GameStateManager {
     }
 
     /**
-     * @return the depth the AI is using for its searches
+     * @return the difficulty level of the AI
      */
-    public int getAiDepth() {
-        return this.aiDepth;
+    public Difficulty getDifficulty() {
+        return this.difficulty;
     }
 
     /**
-     * Runs the AI board evaluation function on the current board
+     * Gives the score of the current board for the current player. If the board is on the line expected by the last
+     * search of the engine, the score of that search is used, otherwise the board is evaluated directly.
      *
      * @return the score the board was given
      */
     public int getBoardEvaluation() {
-        BoardEvaluator boardEvaluator = new RegularBoardEvaluator(true);
+        final SearchResult result = lastResult;
+        final int lineIndex = result == null ? -1 : indexOnLine(result.getPrincipalVariation());
+        //The search score is for the player to move at the start of the line, the players alternate along it
+        if (lineIndex >= 0) return lineIndex % 2 == 0 ? result.getStats().getScore() : -result.getStats().getScore();
         int score = boardEvaluator.evaluate(chessDataBoard, 4);
         return chessDataBoard.currentPlayer().getAlliance() == Alliance.WHITE ? score : score * -1;
     }
@@ -301,6 +353,38 @@ public class GameStateManager {
         return lastMoveText;
     }
 
+    /**
+     * @return the moves the AI expects to be played from the current board, separated by spaces;
+     * empty if the game left the line the AI expected in its last search
+     */
+    public String getExpectedLineText() {
+        final SearchResult result = lastResult;
+        if (result == null) return "";
+        final List<Move> line = result.getPrincipalVariation();
+        final int lineIndex = indexOnLine(line);
+        if (lineIndex < 0) return "";
+        final StringBuilder lineText = new StringBuilder();
+        for (Move move : line.subList(lineIndex, line.size())) {
+            if (lineText.length() > 0) lineText.append(' ');
+            lineText.append(move);
+        }
+        return lineText.toString();
+    }
+
+    /**
+     * Finds the current board on a line of moves
+     *
+     * @param line of moves
+     * @return index of the move of the line that is made on the current board, or -1 if the board is not on the line
+     */
+    private int indexOnLine(List<Move> line) {
+        final long currentHash = chessDataBoard.getZobristHash();
+        for (int i = 0; i < line.size(); i++) {
+            if (line.get(i).getBoard().getZobristHash() == currentHash) return i;
+        }
+        return -1;
+    }
+
     /**
      * Get the last move
      *
@@ -311,15 +395,63 @@ public class GameStateManager {
     }
 
     /**
-     * Lets the AI suggest a move
+     * Lets the AI suggest its best moves, all found by a single multi-PV search of the engine of the game
      *
-     * @param searchDepth for the ai looking for "best move"
-     * @param quiescence  how many deeper searches is allowed
-     * @return move that ai found to be best
+     * @param searchDepth for the ai looking for "best move", the search also stops when the move time of the
+     *                    difficulty runs out
+     * @param hintCount   number of moves to suggest
+     * @return moves that ai found to be best, best first, or null if the search was cancelled or a move was made
+     * while searching
+     */
+    List<Move> getHints(int searchDepth, int hintCount) {
+        //Only the latest hint is shown, an earlier hint search is not needed anymore
+        cancelHint();
+        final Board searchedBoard = chessDataBoard;
+        engine.setGameHistory(boardHistory);
+        final SearchHandle hint = engine.start(searchedBoard, new SearchLimits.Builder()
+                .setMaxDepth(searchDepth)
+                .setMoveTime(difficulty.getMoveTime())
+                .setMultiPv(hintCount)
+                .build());
+        hintSearch = hint;
+        final SearchResult result = awaitSearch(hint);
+        if (result == null || searchedBoard != chessDataBoard) return null;
+        lastResult = result;
+        //The hint search ended the pondering of the AI, which thinks on the human player's time again
+        final boolean humanToMove = searchedBoard.currentPlayer().getAlliance() == Alliance.WHITE ? !isWhiteAI : !isBlackAI;
+        final boolean aiMovesNext = searchedBoard.currentPlayer().getAlliance() == Alliance.WHITE ? isBlackAI : isWhiteAI;
+        if (humanToMove && aiMovesNext) {
+            engine.ponder(searchedBoard);
+        }
+        final List<Move> hints = new ArrayList<>();
+        for (CandidateMove candidate : result.getCandidateMoves()) hints.add(candidate.getMove());
+        return hints;
+    }
+
+    /**
+     * Cancels the hint search if one is still running
      */
-    Move getHint(int searchDepth, int quiescence) {
-        MoveStrategy strategy = new MiniMax(searchDepth, quiescence, true, true);
-        return strategy.execute(this.chessDataBoard);
+    private void cancelHint() {
+        final SearchHandle hint = hintSearch;
+        if (hint != null) hint.cancel();
+    }
+
+    /**
+     * Waits for a search to finish
+     *
+     * @param search to wait for
+     * @return the result of the search, or null if the search was cancelled
+     */
+    private SearchResult awaitSearch(SearchHandle search) {
+        try {
+            return search.getResult();
+        } catch (CancellationException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            search.cancel();
+            Thread.currentThread().interrupt();
+            return null;
+        }
     }
 
     /**
@@ -2,9 +2,13 @@ package gui.extra;
 
 
 import board.Coordinate;
+import board.Move;
 import board.Tile;
 import pieces.Piece;
 
+import java.util.Collections;
+import java.util.List;
+
 
 /**
  * A mutable class that the chess game can use to represent the current move of a user
@@ -12,6 +16,8 @@ import pieces.Piece;
 public class MoveDescription {
     private Tile startTile, destinationTile;
     private Coordinate hintStartCoordinate, hintDestinationCoordinate;
+    //Moves suggested after the hint, next best first
+    private List<Move> alternativeHints = Collections.emptyList();
     private Piece userMovedPiece;
 
     public Tile getStartTile() {
@@ -46,6 +52,14 @@ public class MoveDescription {
         this.hintDestinationCoordinate = hintDestinationCoordinate;
     }
 
+    public List<Move> getAlternativeHints() {
+        return alternativeHints;
+    }
+
+    public void setAlternativeHints(List<Move> alternativeHints) {
+        this.alternativeHints = alternativeHints;
+    }
+
     public void setUserMovedPiece(Piece userMovedPiece) {
         this.userMovedPiece = userMovedPiece;
     }
@@ -70,5 +84,6 @@ public class MoveDescription {
     public void resetHints() {
         this.hintStartCoordinate = null;
         this.hintDestinationCoordinate = null;
+        this.alternativeHints = Collections.emptyList();
     }
 }
@@ -41,7 +41,7 @@ public class GameOverPane extends FlowPane {
             //Construct new game state manager with settings from last rounds game state manager
             GameStateManager newManager = new GameStateManager(whitePlayerName, blackPlayerName,
                     gameStateManager.isWhiteAI(), gameStateManager.isBlackAI(),
-                    gameStateManager.getAiDepth(), gameStateManager.getGameMode());
+                    gameStateManager.getDifficulty(), gameStateManager.getGameMode());
             parentGui.setGameManager(newManager);
 
             //Removes game over pane
@@ -101,6 +101,15 @@ public class StatusPane extends VBox {
             boardStatusBox.setAlignment(Pos.CENTER);
             boardStatusBox.getChildren().addAll(boardStatusText, circle);
             this.getChildren().addAll(boardStatusBox);
+
+            //Show the line the AI expects to be played, while the game follows it
+            String expectedLine = gameStateManager.getExpectedLineText();
+            if (!expectedLine.isEmpty()) {
+                Text expectedLineText = new Text("EXPECTED LINE: " + expectedLine);
+                expectedLineText.setFont(Font.font("Verdana", FontWeight.NORMAL, this.getMaxWidth() / 11));
+                expectedLineText.setWrappingWidth(this.getMaxWidth());
+                this.getChildren().add(expectedLineText);
+            }
         }
 
         //Show the previous moves made
@@ -15,6 +15,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import player.Score;
+import player.basicAI.Difficulty;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -140,14 +141,16 @@ public class StartMenuScene {
         aiOptionBox.setSpacing(5);
 
         this.aiOptions = new ToggleGroup();
-        String[] levelPrefix = {"Easy", "Intermediate", "Expert", "Experimental"};
         this.difficultyButtons = new ArrayList<>();
-        for (int i = 0; i < levelPrefix.length; i++) {
-            difficultyButtons.add(new RadioButton(levelPrefix[i]));
-            if (levelPrefix[i].equals("Intermediate")) difficultyButtons.get(i).setSelected(true);
-            difficultyButtons.get(i).setUserData(i + 2);
-            difficultyButtons.get(i).setDisable(true);
-            difficultyButtons.get(i).setToggleGroup(aiOptions);
+        for (Difficulty level : Difficulty.values()) {
+            RadioButton button = new RadioButton(level.toString());
+            if (level == Difficulty.INTERMEDIATE) button.setSelected(true);
+            button.setUserData(level);
+            //Publish the longest time the AI takes to answer at this level
+            button.setTooltip(new Tooltip("Answers within " + level.getMaxResponseTime() / 1000.0 + " seconds"));
+            button.setDisable(true);
+            button.setToggleGroup(aiOptions);
+            difficultyButtons.add(button);
         }
 
         Text aiDifficulty = new Text("AI DIFFICULTY");
@@ -217,17 +220,9 @@ public class StartMenuScene {
         confirmSettings.setOnAction(e -> {
             boolean isWhiteAI = (boolean) whiteOptions.getSelectedToggle().getUserData();
             boolean isBlackAI = (boolean) blackOptions.getSelectedToggle().getUserData();
-            int aiDepth = (int) aiOptions.getSelectedToggle().getUserData();
-
-            String suffix;
-            int rating;
-            switch (aiDepth) {
-                case 2: suffix = "Easy"; rating = 1200; break;
-                case 3: suffix = "Intermediate"; rating = 1500; break;
-                case 4: suffix = "Expert"; rating = 1800; break;
-                case 5: suffix = "Experimental"; rating = 2000; break;
-                default: suffix = "Error"; rating = 0;
-            }
+            Difficulty difficulty = (Difficulty) aiOptions.getSelectedToggle().getUserData();
+            String suffix = difficulty.toString();
+            int rating = difficulty.getRating();
 
             String whiteUsername, blackUserName;
             Score scoreSystem = Score.getInstance();
@@ -251,7 +246,7 @@ public class StartMenuScene {
             GameMode boardType = (GameMode) boardStateOptions.getSelectedToggle().getUserData();
 
             // Construct new game state manager with settings from start menu
-            GameStateManager gameStateManager = new GameStateManager(whiteUsername, blackUserName, isWhiteAI, isBlackAI, aiDepth, boardType);
+            GameStateManager gameStateManager = new GameStateManager(whiteUsername, blackUserName, isWhiteAI, isBlackAI, difficulty, boardType);
             parentGui.setGameManager(gameStateManager);
             parentGui.showGameScene();
         });
@@ -95,8 +95,9 @@ public class Pawn extends Piece {
                 moves.add(new PawnPromotion(new PawnAttackMove(board, this, destination, pieceAtDestination), PieceType.ROOK));
                 moves.add(new PawnPromotion(new PawnAttackMove(board, this, destination, pieceAtDestination), PieceType.BISHOP));
                 moves.add(new PawnPromotion(new PawnAttackMove(board, this, destination, pieceAtDestination), PieceType.KNIGHT));
+            } else {
+                moves.add(new PawnAttackMove(board, this, destination, pieceAtDestination));
             }
-            moves.add(new PawnAttackMove(board, this, destination, pieceAtDestination));
         } else if (board.getTile(destination).isEmpty() && board.getEnPassantPawn() != null) {
             Move ep = getEnPassantMove(board, destination);
             if (ep != null) moves.add(ep);
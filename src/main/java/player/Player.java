@@ -94,8 +94,8 @@ public class Player {
                 }
 
                 if (rookPiece instanceof Rook && rookPiece.isFirstMove() &&
-                        calculateAttacksOnCoordinate(oneStepRight, opponentMoves).isEmpty() &&
-                        calculateAttacksOnCoordinate(twoStepsRight, opponentMoves).isEmpty()) {
+                        !isCoordinateAttacked(oneStepRight, opponentMoves) &&
+                        !isCoordinateAttacked(twoStepsRight, opponentMoves)) {
                     // add this move to list of possible castling moves
                     kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, twoStepsRight,
                             (Rook) rookPiece, rookPiece.getPieceCoordinate(), oneStepRight));
@@ -119,8 +119,8 @@ public class Player {
                 }
 
                 if (rookPiece instanceof Rook && rookPiece.isFirstMove() &&
-                        calculateAttacksOnCoordinate(oneStepLeft, opponentMoves).isEmpty() &&
-                        calculateAttacksOnCoordinate(twoStepsLeft, opponentMoves).isEmpty()) {
+                        !isCoordinateAttacked(oneStepLeft, opponentMoves) &&
+                        !isCoordinateAttacked(twoStepsLeft, opponentMoves)) {
                     // add this move to list of possible castling moves
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, twoStepsLeft,
                             (Rook) rookPiece, rookPiece.getPieceCoordinate(), oneStepLeft));
@@ -147,6 +147,34 @@ public class Player {
         return Collections.unmodifiableList(attackMoves);
     }
 
+    /**
+     * Check if the opponent attacks a given coordinate.
+     * Pawn moves are not attacks unless they capture, so pawns are checked by their diagonals instead;
+     * their attack moves are only generated when there is a piece to capture.
+     *
+     * @param coordinate    coordinate to check
+     * @param opponentMoves moves available for the opponent player
+     * @return true if an opponent piece attacks the coordinate
+     */
+    private boolean isCoordinateAttacked(Coordinate coordinate, Collection<Move> opponentMoves) {
+        for (Move move : opponentMoves) {
+            if (move.getMovedPiece().getPieceType() != Piece.PieceType.PAWN && coordinate.equals(move.getDestinationCoordinate())) {
+                return true;
+            }
+        }
+        final Alliance opponentAlliance = this.playerAlliance == Alliance.WHITE ? Alliance.BLACK : Alliance.WHITE;
+        final int pawnY = coordinate.getY() - opponentAlliance.getDirection();
+        for (int dx = -1; dx <= 1; dx += 2) {
+            final Coordinate pawnCoordinate = new Coordinate(coordinate.getX() + dx, pawnY);
+            if (!BoardUtils.getInstance().isValidCoordinate(pawnCoordinate)) continue;
+            final Piece piece = this.board.getTile(pawnCoordinate).getPiece();
+            if (piece != null && piece.getPieceType() == Piece.PieceType.PAWN && piece.getPieceAlliance() == opponentAlliance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Of all the player's pieces find the King piece
      *
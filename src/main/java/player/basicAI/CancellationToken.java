@@ -0,0 +1,48 @@
+package player.basicAI;
+
+/**
+ * Cancels one search of a strategy, without touching the other searches of the same strategy.
+ * A strategy attaches the control of the search to the token when the search starts, and cancelling the token cancels
+ * that control only. A search whose token was cancelled before it started, for example while it was waiting for an
+ * earlier search of the strategy to finish, returns without searching.
+ * The time limit of the search counts from the creation of its token, so the time a search waits for an earlier
+ * search of the strategy is part of its move time.
+ */
+public final class CancellationToken {
+    private final long startTime = System.currentTimeMillis();
+    private boolean cancelled;
+    private SearchControl control;
+
+    /**
+     * Cancel the search of this token, safe to call from any thread and before the search has started
+     */
+    public synchronized void cancel() {
+        this.cancelled = true;
+        if (this.control != null) this.control.cancel();
+    }
+
+    /**
+     * @return true if the search of this token was cancelled
+     */
+    public synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return time in milliseconds the search of this token was requested, its move time counts from then
+     */
+    public long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Attach the control of the search, replacing the control attached before.
+     * The control is cancelled straight away if the token was already cancelled.
+     *
+     * @param control of the search of this token
+     */
+    synchronized void attach(SearchControl control) {
+        this.control = control;
+        if (this.cancelled) control.cancel();
+    }
+}
@@ -0,0 +1,56 @@
+package player.basicAI;
+
+import board.Move;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One of the best root moves found by a multi-PV search, with its exact score and the line expected to follow it
+ */
+public final class CandidateMove {
+    private final Move move;
+    private final int score;
+    private final List<Move> principalVariation;
+
+    /**
+     * Construct a candidate move
+     *
+     * @param move               root move
+     * @param score              of the move, from the view of the player to move
+     * @param principalVariation line expected after the move, starting with the move
+     */
+    CandidateMove(Move move, int score, List<Move> principalVariation) {
+        this.move = move;
+        this.score = score;
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+    }
+
+    /**
+     * @return the root move
+     */
+    public Move getMove() {
+        return this.move;
+    }
+
+    /**
+     * @return score of the move in centipawns, from the view of the player to move
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return the line both players are expected to play, starting with the move
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (Move move : this.principalVariation) builder.append(' ').append(move);
+        return this.move + " score " + this.score + " pv" + builder;
+    }
+}
@@ -0,0 +1,17 @@
+package player.basicAI;
+
+/**
+ * Search listener that prints the progress of a search to the console, one line per iteration
+ */
+final class ConsoleSearchListener implements SearchListener {
+
+    @Override
+    public void onIteration(SearchIteration iteration) {
+        System.out.println(iteration);
+    }
+
+    @Override
+    public void onSearchFinished(SearchStats stats) {
+        System.out.println(stats + "\n");
+    }
+}
@@ -0,0 +1,94 @@
+package player.basicAI;
+
+/**
+ * Playing strength levels of the AI. A level is a budget of nodes the search may visit for a move, with an optional
+ * depth cap for the weakest levels. The node budget makes the strength of a level the same in every position and on
+ * every machine, while the time of a move grows with the position and the speed of the machine.
+ * The budget is searched by a single thread; helper threads would share it, and the tree searched for the same budget
+ * would depend on the number of cores.
+ * Every level also has a move time; the search stops when it runs out of either, so a move never takes much longer
+ * than the move time of the level, which is the response time that is promised to the player. The strength of a
+ * level is only independent of the machine as long as the budget runs out first.
+ */
+public enum Difficulty {
+    EASY("Easy", 1200, 2, 2_000, 1_000),
+    INTERMEDIATE("Intermediate", 1500, 4, 20_000, 2_000),
+    EXPERT("Expert", 1800, SearchLimits.MAX_DEPTH, 200_000, 5_000),
+    EXPERIMENTAL("Experimental", 2000, SearchLimits.MAX_DEPTH, 2_000_000, 10_000);
+
+    // time between the search noticing that it is out of time, and the move being returned
+    private static final long RESPONSE_MARGIN = 250;
+    private static final int THREAD_COUNT = 1;
+
+    private final String displayName;
+    private final int rating;
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long moveTime;
+
+    Difficulty(String displayName, int rating, int maxDepth, long maxNodes, long moveTime) {
+        this.displayName = displayName;
+        this.rating = rating;
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.moveTime = moveTime;
+    }
+
+    /**
+     * @return the limits of a search for a move at this level
+     */
+    public SearchLimits getSearchLimits() {
+        return new SearchLimits.Builder()
+                .setMaxDepth(this.maxDepth)
+                .setMaxNodes(this.maxNodes)
+                .setMoveTime(this.moveTime)
+                .build();
+    }
+
+    /**
+     * @return the number of threads that search a move at this level
+     */
+    public int getThreadCount() {
+        return THREAD_COUNT;
+    }
+
+    /**
+     * @return the depth cap of the level (plys), SearchLimits.MAX_DEPTH if the level is only limited by its budget
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return the number of nodes the search may visit for a move
+     */
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * @return the longest time the search may think about a move, in milliseconds
+     */
+    public long getMoveTime() {
+        return this.moveTime;
+    }
+
+    /**
+     * @return the longest time the AI takes to answer a move at this level, in milliseconds
+     */
+    public long getMaxResponseTime() {
+        return this.moveTime + RESPONSE_MARGIN;
+    }
+
+    /**
+     * @return the rating the AI starts with at this level
+     */
+    public int getRating() {
+        return this.rating;
+    }
+
+    @Override
+    public String toString() {
+        return this.displayName;
+    }
+}
@@ -0,0 +1,56 @@
+package player.basicAI;
+
+import pieces.Alliance;
+
+/**
+ * Butterfly history table; counts, for every player and every start and destination square, how often a quiet move
+ * caused a beta cutoff. Cutoffs found by deep searches weigh more than shallow ones.
+ *
+ * @see <a href="https://www.chessprogramming.org/History_Heuristic">History Heuristic</a>
+ */
+final class HistoryTable {
+    // scores are kept below this limit so that they can be ordered beneath killers and captures
+    static final int MAX_SCORE = 1 << 22;
+    private static final int SQUARE_PAIRS = 64 * 64;
+
+    private final int[][] history = new int[Alliance.values().length][SQUARE_PAIRS];
+
+    /**
+     * Reward a quiet move that caused a beta cutoff
+     *
+     * @param alliance    of the player that made the move
+     * @param moveCode    of the move, see MoveCodes
+     * @param searchDepth remaining depth of the search at the cutoff
+     */
+    void update(Alliance alliance, int moveCode, int searchDepth) {
+        final int[] allianceHistory = this.history[alliance.ordinal()];
+        final int index = squarePair(moveCode);
+        allianceHistory[index] += searchDepth * searchDepth;
+        if (allianceHistory[index] >= MAX_SCORE) age();
+    }
+
+    /**
+     * @param alliance of the player that makes the move
+     * @param moveCode of the move, see MoveCodes
+     * @return history score of the move, between 0 and MAX_SCORE
+     */
+    int score(Alliance alliance, int moveCode) {
+        return this.history[alliance.ordinal()][squarePair(moveCode)];
+    }
+
+    /**
+     * Halve all scores, so that recent cutoffs weigh more than old ones
+     */
+    void age() {
+        for (int[] allianceHistory : this.history) {
+            for (int i = 0; i < SQUARE_PAIRS; i++) allianceHistory[i] >>= 1;
+        }
+    }
+
+    /**
+     * The start and destination square of the move, the promotion type is ignored
+     */
+    private static int squarePair(int moveCode) {
+        return moveCode & (SQUARE_PAIRS - 1);
+    }
+}
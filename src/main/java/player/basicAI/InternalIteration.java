@@ -0,0 +1,22 @@
+package player.basicAI;
+
+/**
+ * What the search does at a node that has no hash move to search first
+ *
+ * @see <a href="https://www.chessprogramming.org/Internal_Iterative_Deepening">Internal Iterative Deepening</a>
+ * @see <a href="https://www.chessprogramming.org/Internal_Iterative_Reductions">Internal Iterative Reductions</a>
+ */
+public enum InternalIteration {
+    /**
+     * Search the node as it is, with the ordering the move picker can give without a hash move
+     */
+    NONE,
+    /**
+     * Search the node one ply shallower; the cheaper search stores a best move that the next iteration can use
+     */
+    REDUCTION,
+    /**
+     * Search the node at a reduced depth first to find a best move, then search it at full depth with that move first
+     */
+    DEEPENING
+}
@@ -0,0 +1,62 @@
+package player.basicAI;
+
+/**
+ * Killer move table; remembers, for every ply of the search, the last two quiet moves that caused a beta cutoff.
+ * A move that refuted one position is likely to refute its siblings as well, so killers are tried early.
+ *
+ * @see <a href="https://www.chessprogramming.org/Killer_Heuristic">Killer Heuristic</a>
+ */
+final class KillerMoves {
+    static final int MAX_PLY = 128;
+    private static final int SLOTS = 2;
+
+    private final int[][] killers = new int[MAX_PLY][SLOTS];
+
+    /**
+     * Store a quiet move that caused a beta cutoff, the older killer of the ply is pushed out
+     *
+     * @param ply      distance from the root of the search
+     * @param moveCode of the move, see MoveCodes
+     */
+    void store(int ply, int moveCode) {
+        if (ply >= MAX_PLY || this.killers[ply][0] == moveCode) return;
+        this.killers[ply][1] = this.killers[ply][0];
+        this.killers[ply][0] = moveCode;
+    }
+
+    /**
+     * @param ply      distance from the root of the search
+     * @param moveCode of the move, see MoveCodes
+     * @return the slot of the move (0 for the newest killer), or -1 if the move is not a killer of the ply
+     */
+    int slotOf(int ply, int moveCode) {
+        if (ply >= MAX_PLY || moveCode == MoveCodes.NO_MOVE) return -1;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (this.killers[ply][slot] == moveCode) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Move the killers closer to the root, for a search that starts some plys into the line of the previous search.
+     * The killers of the plys that were searched before the new root are forgotten.
+     *
+     * @param plys between the root of the previous search and the new root
+     */
+    void shift(int plys) {
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                this.killers[ply][slot] = ply + plys < MAX_PLY ? this.killers[ply + plys][slot] : MoveCodes.NO_MOVE;
+            }
+        }
+    }
+
+    /**
+     * Forget all killers, they belong to the positions of a previous search
+     */
+    void clear() {
+        for (int[] plyKillers : this.killers) {
+            for (int slot = 0; slot < SLOTS; slot++) plyKillers[slot] = MoveCodes.NO_MOVE;
+        }
+    }
+}
@@ -1,46 +1,92 @@
 package player.basicAI;
 
 import board.Board;
-import board.BoardUtils;
 import board.Move;
-import com.google.common.collect.ComparisonChain;
-import com.google.common.collect.Ordering;
-import pieces.Alliance;
-import pieces.Piece;
 import player.MoveTransition;
 
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static board.Move.NullMove;
 
 /**
- * An implementation of the "MiniMax" algorithm with alpha-beta pruning and quiescence search
+ * An implementation of the "MiniMax" algorithm in its negamax form, using principal variation search with alpha-beta
+ * pruning, null move pruning, late move reductions, quiescence search, a transposition table and iterative deepening
+ * with aspiration windows within a time or node budget, optionally searched by several threads sharing the transposition table.
+ * The strategy can also ponder; search the predicted position on the opponent's time
  *
  * @see <a href=https://en.wikipedia.org/wiki/Minimax>MiniMax</a>
  * @see <a href=https://en.wikipedia.org/wiki/Alpha-beta_pruning>Alpha-beta pruning</a>
+ * @see <a href=https://en.wikipedia.org/wiki/Negamax>Negamax</a>
  */
 public class MiniMax implements MoveStrategy {
-    private final BoardEvaluator boardEvaluator;
+    public static final int DEFAULT_HASH_SIZE = 16;
+    private final SearchWorker[] workers;
+    private final TranspositionTable transpositionTable;
+    // searches the root moves one by one when every root move keeps its own state
+    private final RootSplitSearch rootSplitSearch;
+    private volatile RootSearch rootSearch = RootSearch.SHARED;
     private final int searchDepth;
-    private final int maxQuiescence;
-    private final boolean printMoveInformation;
-    private int quiescenceCount;
-    private int totalQuiescence;
+    private volatile SearchListener searchListener;
+    private volatile long[] gameHistory = new long[0];
+    private volatile SearchControl activeControl;
+    private volatile SearchControl ponderControl;
+    private Thread ponderThread;
+    private Board ponderBoard;
+    private volatile SearchResult ponderResult;
+    // line expected by the last search, its second move is the opponent's reply to ponder on
+    private volatile List<Move> expectedLine = Collections.emptyList();
 
     /**
      * The constructor for the MiniMax Alpha-beta algorithm
      *
      * @param searchDepth          depth of the search (plys)
-     * @param maxQuiescence        how many times the ai is allowed to search deeper per top move node
+     * @param maxQuiescence        maximum depth of the quiescence search (plys), 0 to evaluate the horizon directly
      * @param usePieceSquareBoards to use piece-square board or not
-     * @param printMoveInformation to print information about
+     * @param printMoveInformation to print the progress of every search to the console
      */
     public MiniMax(int searchDepth, int maxQuiescence, boolean usePieceSquareBoards, boolean printMoveInformation) {
-        this.boardEvaluator = new RegularBoardEvaluator(usePieceSquareBoards);
+        this(searchDepth, maxQuiescence, usePieceSquareBoards, printMoveInformation, DEFAULT_HASH_SIZE);
+    }
+
+    /**
+     * The constructor for the MiniMax Alpha-beta algorithm with a given transposition table size
+     *
+     * @param searchDepth          depth of the search (plys)
+     * @param maxQuiescence        maximum depth of the quiescence search (plys), 0 to evaluate the horizon directly
+     * @param usePieceSquareBoards to use piece-square board or not
+     * @param printMoveInformation to print the progress of every search to the console
+     * @param hashSizeInMegabytes  memory used by the transposition table
+     */
+    public MiniMax(int searchDepth, int maxQuiescence, boolean usePieceSquareBoards, boolean printMoveInformation,
+                   int hashSizeInMegabytes) {
+        this(searchDepth, maxQuiescence, usePieceSquareBoards, printMoveInformation, hashSizeInMegabytes, 1);
+    }
+
+    /**
+     * The constructor for the MiniMax Alpha-beta algorithm with a given transposition table size and number of threads
+     *
+     * @param searchDepth          depth of the search (plys)
+     * @param maxQuiescence        maximum depth of the quiescence search (plys), 0 to evaluate the horizon directly
+     * @param usePieceSquareBoards to use piece-square board or not
+     * @param printMoveInformation to print the progress of every search to the console
+     * @param hashSizeInMegabytes  memory used by the transposition table, shared by all threads
+     * @param threadCount          number of threads searching each move
+     */
+    public MiniMax(int searchDepth, int maxQuiescence, boolean usePieceSquareBoards, boolean printMoveInformation,
+                   int hashSizeInMegabytes, int threadCount) {
+        if (threadCount < 1) throw new IllegalArgumentException("At least one thread is needed to search");
+        this.transpositionTable = new TranspositionTable(hashSizeInMegabytes);
+        this.workers = new SearchWorker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            // the evaluator keeps state between evaluations, every thread needs its own
+            this.workers[i] = new SearchWorker(i, new RegularBoardEvaluator(usePieceSquareBoards), this.transpositionTable,
+                    maxQuiescence);
+        }
+        this.rootSplitSearch = new RootSplitSearch(null, maxQuiescence, usePieceSquareBoards);
         this.searchDepth = searchDepth;
-        this.maxQuiescence = maxQuiescence;
-        this.printMoveInformation = printMoveInformation;
+        this.searchListener = printMoveInformation ? new ConsoleSearchListener() : null;
     }
 
     @Override
@@ -49,227 +95,247 @@ public class MiniMax implements MoveStrategy {
     }
 
     /**
-     * Execute the mini-max algorithm for the current player, the method will check the alliance of the player and treat
-     * the white player as the maximizing, and the black player as minimizing.
+     * Execute the mini-max algorithm for the current player to the search depth of this strategy
      *
      * @param board to generate move for
      * @return best move found
      */
     @Override
     public Move execute(Board board) {
-        final long startTime = System.currentTimeMillis();
-        Move bestMove = new NullMove();
-
-        int highestEncounteredValue = Integer.MIN_VALUE;
-        int lowestEncounteredValue = Integer.MAX_VALUE;
-        int currentValue;
-
-        if (printMoveInformation)
-            System.out.println(board.currentPlayer().getAlliance().toString().toUpperCase() + " EVALUATING WITH DEPTH: " + searchDepth);
-        Collection<Move> sorted = moveSortExpensive(board.currentPlayer().getLegalMoves());
-        int moveCount = 1;
-        for (Move move : sorted) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            //Reset quiescence for every start node
-            this.quiescenceCount = 0;
-            if (moveTransition.getMoveStatus().isDone()) {
-                if (board.currentPlayer().getAlliance() == Alliance.WHITE) {
-                    currentValue = min(moveTransition.getTransitionBoard(), searchDepth - 1, highestEncounteredValue, lowestEncounteredValue);
-                } else {
-                    currentValue = max(moveTransition.getTransitionBoard(), searchDepth - 1, highestEncounteredValue, lowestEncounteredValue);
-                }
-
-                if (board.currentPlayer().getAlliance() == Alliance.WHITE && currentValue > highestEncounteredValue) {
-                    // maximizing player
-                    highestEncounteredValue = currentValue;
-                    bestMove = move;
-                    if (moveTransition.getTransitionBoard().getBlackPlayer().isInCheckmate()) break;
-                } else if (board.currentPlayer().getAlliance() == Alliance.BLACK && currentValue < lowestEncounteredValue) {
-                    // minimizing player
-                    lowestEncounteredValue = currentValue;
-                    bestMove = move;
-                    if (moveTransition.getTransitionBoard().getWhitePlayer().isInCheckmate()) break;
-                }
-
-                if (printMoveInformation) {
-                    System.out.println("(" + moveCount++ + "/" + sorted.size() + ") "
-                            + "\u001B[34m" + "MOVE: " + "\u001B[0m" + move + " "
-                            + "\u001B[36m" + "DEEPER SEARCHES: " + "\u001B[0m" + quiescenceCount + " "
-                            + "\u001B[32m" + "BEST MOVE: " + "\u001B[0m" + bestMove
-                            + "\u001B[33m" + " [Score: " + "\u001B[0m" + currentValue + "\u001B[33m" + "]" + "\u001B[0m");
-                }
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
 
+    /**
+     * Search the best move for the current player, every position is scored from the view of the player to move.
+     * The search is iteratively deepened; depth 1, 2, 3 and so on are searched until the maximum depth is reached or
+     * the time or node budget runs out. The best move of the deepest completed iteration is returned, and the first
+     * iteration is always completed so that a move is found even with a very small budget.
+     * With more than one thread, helper threads search the same position at the same time (Lazy SMP), sharing the
+     * transposition table with the main thread, whose result is returned.
+     * If the board is the position this strategy is pondering on, the ponder search is continued instead, and the
+     * statistics include the time and nodes spent pondering. A ponder search that was already stopped can not be
+     * continued within new limits, and the position is searched again.
+     * If the limits ask for more than one line (multi-PV), the best moves are returned as candidates, best first.
+     * The ponder search only follows the best line, so it is stopped and the position searched again in that case.
+     * With RootSearch.PER_ROOT_MOVE, the position is searched as RootSplitMiniMax searches it, on this thread only.
+     * A strategy can be kept as the engine of a whole game; the transposition table, history tables and the line
+     * expected by the previous search carry over to the next one, and a search that starts on that line finds most
+     * of its subtree searched already. Searches of the same strategy are run one at a time.
+     * Cancelling the token stops this search only, the ponder search or a search waiting for this one keep running.
+     *
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @param token  that cancels this search
+     * @return best move found and the statistics of the search
+     * @see <a href="https://www.chessprogramming.org/Iterative_Deepening">Iterative Deepening</a>
+     * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Lazy SMP</a>
+     */
+    @Override
+    public synchronized SearchResult search(Board board, SearchLimits limits, CancellationToken token) {
+        // the search was cancelled while it waited for the previous one
+        if (token.isCancelled()) return SearchResult.empty();
+        final long startTime = token.getStartTime();
+        final SearchResult result;
+        if (this.ponderThread != null && board.getZobristHash() == this.ponderBoard.getZobristHash() &&
+                !this.ponderControl.isStopped() && limits.getMultiPv() <= 1 && this.rootSearch == RootSearch.SHARED) {
+            // the opponent made the predicted move, the ponder search becomes the search of this move
+            this.ponderControl.setLimits(limits, startTime);
+            token.attach(this.ponderControl);
+            result = finishPondering().onBoard(board);
+        } else {
+            if (this.ponderThread != null) {
+                stopPondering();
+                finishPondering();
+            }
+            final SearchControl control = new SearchControl(limits, startTime, this.searchListener);
+            token.attach(control);
+            if (this.rootSearch == RootSearch.PER_ROOT_MOVE) {
+                this.activeControl = control;
+                result = this.rootSplitSearch.search(board, control, this.gameHistory);
             } else {
-                if (printMoveInformation) {
-                    System.out.println("(" + moveCount++ + "/" + sorted.size() + ") "
-                            + "\u001B[34m" + "MOVE: " + "\u001B[0m" + move + " is illegal! "
-                            + "\u001B[32m" + "BEST MOVE: " + "\u001B[0m" + bestMove);
-                }
+                result = runWorkers(board, control);
             }
         }
 
-        if (printMoveInformation) {
-            final long timeSpent = System.currentTimeMillis() - startTime;
-            System.out.println("\tTIME TAKEN: " + "\u001B[32m" + timeSpent + "ms" + "\u001B[0m");
-            System.out.println("\tTOTAL DEEP SEARCH COUNT: " + "\u001B[36m" + totalQuiescence + "\u001B[0m" + "\n");
-        }
-
-        return bestMove;
+        this.expectedLine = result.getPrincipalVariation();
+        final SearchListener listener = this.searchListener;
+        if (listener != null) listener.onSearchFinished(result.getStats());
+        return result;
     }
 
     /**
-     * Minimizing function
+     * Set the listener that is told about the progress of every search, replaces the console output
      *
-     * @param board       to make move on
-     * @param searchDepth current depth of search
-     * @param alpha       for current search
-     * @param beta        for current search
-     * @return lowest board value encountered
+     * @param listener to tell, or null to stop listening
      */
-    private int min(Board board, int searchDepth, int alpha, int beta) {
-        if (searchDepth == 0 || isEndGame(board)) {
-            return this.boardEvaluator.evaluate(board, searchDepth);
-        }
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.searchListener = listener;
+    }
 
-        int currentLowestValue = beta;
-        for (Move move : moveSortStandard(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+    /**
+     * Set the positions played in the game so far, a line of the search that repeats one of them is scored as a draw.
+     * Used by the following searches and ponder searches, until it is set again.
+     *
+     * @param boards played in the game, oldest first, may end with the board to generate a move for
+     */
+    @Override
+    public void setGameHistory(List<Board> boards) {
+        this.gameHistory = PositionHistory.hashesOf(boards);
+    }
 
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentLowestValue = Math.min(currentLowestValue,
-                        max(moveTransition.getTransitionBoard(), calculateQuiescenceDepth(moveTransition, searchDepth), alpha, currentLowestValue));
+    /**
+     * Set what the search does at nodes without a hash move, internal iterative deepening by default
+     *
+     * @param internalIteration setting to use
+     */
+    public void setInternalIteration(InternalIteration internalIteration) {
+        for (SearchWorker worker : this.workers) worker.setInternalIteration(internalIteration);
+    }
 
-                // alpha beta break off
-                if (currentLowestValue <= alpha) return alpha;
-            }
-        }
-        return currentLowestValue;
+    /**
+     * Set how the state of the search is kept at the root, takes effect at the next search
+     *
+     * @param rootSearch setting to use
+     */
+    public void setRootSearch(RootSearch rootSearch) {
+        this.rootSearch = rootSearch;
     }
 
     /**
-     * Maximizing function
+     * Search the position the opponent is predicted to leave, while the opponent is thinking.
+     * The predicted move is the reply to the best move in the principal variation of the last search, or the best
+     * move for the opponent stored in the transposition table if the variation ends early. The ponder search runs
+     * without limits in the background until the next call to execute or stopPondering. If the opponent makes the
+     * predicted move, execute continues the ponder search within its own limits, and keeps every iteration
+     * completed so far. Otherwise the ponder search is stopped, and only its transposition table entries remain.
+     * The search listener is not told about the iterations of the ponder search.
      *
-     * @param board       to make move on
-     * @param searchDepth current depth of search
-     * @param alpha       for current search
-     * @param beta        for current search
-     * @return highest board value encountered
+     * @param board after the move of this strategy, with the opponent to move
+     * @see <a href="https://www.chessprogramming.org/Pondering">Pondering</a>
      */
-    private int max(Board board, int searchDepth, int alpha, int beta) {
-        if (searchDepth == 0 || isEndGame(board)) {
-            return this.boardEvaluator.evaluate(board, searchDepth);
+    public synchronized void ponder(Board board) {
+        if (this.ponderThread != null) {
+            stopPondering();
+            finishPondering();
         }
+        final Move predictedMove = predictReply(board);
+        if (predictedMove == null) return;
+        final MoveTransition moveTransition = board.currentPlayer().makeMove(predictedMove);
+        if (!moveTransition.getMoveStatus().isDone()) return;
 
-        int currentHighestValue = alpha;
-        for (Move move : moveSortStandard(board.currentPlayer().getLegalMoves())) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentHighestValue = Math.max(currentHighestValue,
-                        min(moveTransition.getTransitionBoard(), calculateQuiescenceDepth(moveTransition, searchDepth), currentHighestValue, beta));
-
-                // alpha beta break off
-                if (beta <= currentHighestValue) return beta;
-            }
-        }
-        return currentHighestValue;
+        final Board ponderBoard = moveTransition.getTransitionBoard();
+        final SearchControl ponderControl = new SearchControl(new SearchLimits.Builder().build(), System.currentTimeMillis());
+        this.ponderBoard = ponderBoard;
+        this.ponderControl = ponderControl;
+        this.ponderResult = null;
+        this.ponderThread = new Thread(() -> this.ponderResult = runWorkers(ponderBoard, ponderControl), "MiniMax ponder");
+        this.ponderThread.setDaemon(true);
+        this.ponderThread.start();
     }
 
     /**
-     * Check if the current player is in checkmate or in a stalemate
-     *
-     * @param board to evaluate
-     * @return true if current player is in checkmate or stalemate, false otherwise
+     * Stop pondering, does not wait for the ponder search to finish.
+     * Safe to call from any thread, and when the strategy is not pondering.
      */
-    private boolean isEndGame(Board board) {
-        return board.currentPlayer().isInCheckmate() || board.currentPlayer().isInStalemate();
+    public void stopPondering() {
+        final SearchControl ponderControl = this.ponderControl;
+        if (ponderControl != null) ponderControl.stop();
     }
 
     /**
-     * Calculates the quiescence depth
-     *
-     * @param moveTransition transition that represents the last move
-     * @param searchDepth    current depth of the mini-max search
-     * @return the depth the mini-max should continue its search with
-     * @see <a href="https://chessprogramming.wikispaces.com/Quiescence+Search">Quiescence</a>
+     * Cancel pondering, the ponder search is not continued even if the opponent makes the predicted move.
+     * Safe to call from any thread, and when the strategy is not pondering.
      */
-    private int calculateQuiescenceDepth(final MoveTransition moveTransition, final int searchDepth) {
-        if (searchDepth == 1 && this.quiescenceCount < maxQuiescence) {
-            int activityScore = 0;
-            if (moveTransition.getTransitionBoard().currentPlayer().isInCheck()) {
-                activityScore += 2;
-            }
-            for (final Move move : BoardUtils.getInstance().retrieveLastNMoves(moveTransition.getTransitionBoard(), 4)) {
-                if (move.isAttack()) activityScore += 1;
-            }
-            if (activityScore > 3) {
-                this.quiescenceCount++;
-                this.totalQuiescence++;
-                return 2;
-            }
-        }
-        return searchDepth - 1;
+    public void cancelPondering() {
+        final SearchControl ponderControl = this.ponderControl;
+        if (ponderControl != null) ponderControl.cancel();
     }
 
     /**
-     * Sorts moves contained in a collection
-     * General comparison outline:
-     * Check if move puts opponent in check
-     * Check if move is a castling move
-     * Use MVV-LVA heuristic
-     *
-     * @param moves to sort
-     * @return sorted collection of moves
+     * Cancel the running search and the ponder search, safe to call from any thread
      */
-    private Collection<Move> moveSortExpensive(Collection<Move> moves) {
-        return Ordering.from((Comparator<Move>) (moveA, moveB) -> ComparisonChain.start()
-                .compareTrueFirst(moveCreatesCheck(moveA), moveCreatesCheck(moveB))
-                .compareTrueFirst(moveA.isCastlingMove(), moveB.isCastlingMove())
-                .compare(mvvlva(moveB), mvvlva(moveA))
-                .result()).immutableSortedCopy(moves);
+    @Override
+    public void stop() {
+        final SearchControl activeControl = this.activeControl;
+        if (activeControl != null) activeControl.cancel();
+        final SearchControl ponderControl = this.ponderControl;
+        if (ponderControl != null) ponderControl.cancel();
     }
 
     /**
-     * Sorts moves contained in a collection
-     * General comparison outline:
-     * Check if move is a castling move
-     * Use MVV-LVA heuristic
+     * Predict the move the opponent will make, from the line expected by the last search
      *
-     * @param moves to sort
-     * @return sorted collection of moves
+     * @param board after the move of this strategy, with the opponent to move
+     * @return the predicted move, or null if the position has not been searched
      */
-    private Collection<Move> moveSortStandard(Collection<Move> moves) {
-        return Ordering.from((Comparator<Move>) (moveA, moveB) -> ComparisonChain.start()
-                .compareTrueFirst(moveA.isCastlingMove(), moveB.isCastlingMove())
-                .compare(mvvlva(moveB), mvvlva(moveA))
-                .result()).immutableSortedCopy(moves);
+    private Move predictReply(Board board) {
+        final List<Move> expectedLine = this.expectedLine;
+        if (expectedLine.size() > 1 && expectedLine.get(1).getBoard().getZobristHash() == board.getZobristHash()) {
+            final Move reply = MoveCodes.find(board.currentPlayer().getLegalMoves(), MoveCodes.encode(expectedLine.get(1)));
+            if (reply != null) return reply;
+        }
+        return this.workers[0].predictMove(board);
     }
 
     /**
-     * Checks if the move puts the opponent player in check
+     * Wait for the ponder search to finish
      *
-     * @param move to evaluate
-     * @return true if opponent is in check
+     * @return result of the ponder search
      */
-    private boolean moveCreatesCheck(final Move move) {
-        final Board board = move.getBoard();
-        MoveTransition transition = board.currentPlayer().makeMove(move);
-        return transition.getTransitionBoard().currentPlayer().isInCheck();
+    private SearchResult finishPondering() {
+        try {
+            this.ponderThread.join();
+        } catch (InterruptedException e) {
+            this.ponderControl.stop();
+            Thread.currentThread().interrupt();
+        }
+        final SearchResult result = this.ponderResult;
+        this.ponderThread = null;
+        this.ponderControl = null;
+        this.ponderBoard = null;
+        this.ponderResult = null;
+        return result != null ? result : SearchResult.empty();
     }
 
     /**
-     * Gives a score for a move according to the "Most Valueable Victim - Least Valuable Aggressor" heuristic
+     * Search a board with all workers until the search control stops them
      *
-     * @param move to evaluate
-     * @return score for the move
-     * @see <a href="https://chessprogramming.wikispaces.com/MVV-LVA">MVV-LVA</a>
+     * @param board   to generate move for
+     * @param control of the search
+     * @return best move found by the main worker and the statistics of all workers
      */
-    private int mvvlva(final Move move) {
-        final Piece movingPiece = move.getMovedPiece();
-        if (move.isAttack()) {
-            final Piece attackedPiece = move.getAttackedPiece();
-            return (attackedPiece.getPieceType().getPieceValue() - movingPiece.getPieceType().getPieceValue() + Piece.PieceType.KING.getPieceValue()) * 100;
+    private SearchResult runWorkers(Board board, SearchControl control) {
+        this.activeControl = control;
+        this.transpositionTable.newSearch();
+        final long[] gameHistory = this.gameHistory;
+        for (SearchWorker worker : this.workers) worker.setGameHistory(gameHistory, board);
+        final List<Thread> helpers = new ArrayList<>(this.workers.length - 1);
+        for (int i = 1; i < this.workers.length; i++) {
+            final SearchWorker worker = this.workers[i];
+            final Thread helper = new Thread(() -> worker.iterativeDeepening(board, control), "MiniMax helper " + i);
+            helper.setDaemon(true);
+            helpers.add(helper);
+            helper.start();
         }
-        return Piece.PieceType.KING.getPieceValue() - movingPiece.getPieceType().getPieceValue();
+
+        final Move bestMove = this.workers[0].iterativeDeepening(board, control);
+        control.stop();
+        for (Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final SearchStats.Builder stats = new SearchStats.Builder()
+                .setNodes(control.getNodeCount())
+                .setTimeMillis(System.currentTimeMillis() - control.getStartTime())
+                .setThreadCount(this.workers.length)
+                .setIterations(this.workers[0].getIterations());
+        for (SearchWorker worker : this.workers) stats.addWorker(worker);
+        return new SearchResult(bestMove == null ? new NullMove() : bestMove, stats.build(),
+                this.workers[0].getCandidateMoves());
     }
 }
@@ -0,0 +1,261 @@
+package player.basicAI;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Search tree of the Monte Carlo tree search, stored as a pool of nodes in primitive arrays so that the tree
+ * costs a few dozen bytes per node and growing it never allocates. A node is an index into the arrays, the root
+ * is node 0, and the children of a node are stored next to each other.
+ * The tree is shared by all threads without locks. A thread that wants to expand a node claims it with a
+ * compare-and-set on its state, writes the children, and then publishes them by setting the state; a thread that
+ * reads the state as expanded therefore also sees the children. Visits and values are updated atomically.
+ * A thread passing through a node adds a virtual loss to it; a few visits that won nothing. Other threads then
+ * find the node less attractive and spread out over the tree, until the playout is backed up and the virtual
+ * loss is replaced by its real result.
+ *
+ * @see <a href="https://www.chessprogramming.org/Parallel_Search#Tree_Parallelization">Tree Parallelization</a>
+ */
+final class MonteCarloTree {
+    static final int ROOT = 0;
+    // the state of a node
+    static final int UNEXPANDED = 0;
+    static final int EXPANDING = 1;
+    static final int EXPANDED = 2;
+    // the move into the node leaves the king of the player that made it in check
+    static final int ILLEGAL = 3;
+    // the player to move at the node is checkmated or stalemated
+    static final int CHECKMATE = 4;
+    static final int STALEMATE = 5;
+
+    // values are stored as fixed point numbers, a win is worth VALUE_SCALE and a loss 0
+    static final int VALUE_SCALE = 1 << 16;
+    private static final int VIRTUAL_LOSS = 3;
+
+    private final int[] moveCodes;
+    private final int[] firstChildren;
+    private final int[] childCounts;
+    private final AtomicIntegerArray states;
+    private final AtomicIntegerArray visits;
+    // sum of the values of the playouts through a node, from the view of the player who made the move into it
+    private final AtomicLongArray valueSums;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Construct a tree
+     *
+     * @param capacity number of nodes the tree can hold
+     */
+    MonteCarloTree(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("The tree needs room for at least the root");
+        this.moveCodes = new int[capacity];
+        this.firstChildren = new int[capacity];
+        this.childCounts = new int[capacity];
+        this.states = new AtomicIntegerArray(capacity);
+        this.visits = new AtomicIntegerArray(capacity);
+        this.valueSums = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Remove every node but an unexpanded root, only to be done while no thread is searching
+     */
+    void clear() {
+        this.size.set(1);
+        this.moveCodes[ROOT] = MoveCodes.NO_MOVE;
+        this.childCounts[ROOT] = 0;
+        this.states.set(ROOT, UNEXPANDED);
+        this.visits.set(ROOT, 0);
+        this.valueSums.set(ROOT, 0);
+    }
+
+    /**
+     * @return number of nodes in the tree
+     */
+    int size() {
+        return this.size.get();
+    }
+
+    /**
+     * @return number of nodes the tree can hold
+     */
+    int capacity() {
+        return this.moveCodes.length;
+    }
+
+    /**
+     * Claim an unexpanded node, so that no other thread expands it at the same time
+     *
+     * @param node to expand
+     * @return true if the calling thread must now expand the node
+     */
+    boolean claim(int node) {
+        return this.states.compareAndSet(node, UNEXPANDED, EXPANDING);
+    }
+
+    /**
+     * Expand a claimed node, its children are visible to other threads once this returns
+     *
+     * @param node      claimed by the calling thread
+     * @param moveCodes of the moves from the node, in the order they should be tried
+     * @param count     number of moves
+     * @return true if the node was expanded, false if the tree is full and the node was released again
+     */
+    boolean expand(int node, int[] moveCodes, int count) {
+        int first;
+        do {
+            first = this.size.get();
+            if (first + count > capacity()) {
+                this.states.set(node, UNEXPANDED);
+                return false;
+            }
+        } while (!this.size.compareAndSet(first, first + count));
+
+        for (int i = 0; i < count; i++) {
+            final int child = first + i;
+            this.moveCodes[child] = moveCodes[i];
+            this.childCounts[child] = 0;
+            this.visits.set(child, 0);
+            this.valueSums.set(child, 0);
+            this.states.set(child, UNEXPANDED);
+        }
+        this.firstChildren[node] = first;
+        this.childCounts[node] = count;
+        this.states.set(node, EXPANDED);
+        return true;
+    }
+
+    /**
+     * Mark a claimed node as terminal
+     *
+     * @param node  claimed by the calling thread
+     * @param state CHECKMATE or STALEMATE
+     */
+    void setTerminal(int node, int state) {
+        this.states.set(node, state);
+    }
+
+    /**
+     * Mark a node as illegal, so that it is never selected again
+     *
+     * @param node reached by a move that leaves the king in check
+     */
+    void setIllegal(int node) {
+        this.states.set(node, ILLEGAL);
+    }
+
+    /**
+     * Select the child of a node to continue a playout with, by the UCT formula; the average value of a child
+     * plus a bonus that grows with the visits of the node and shrinks with the visits of the child.
+     * Children that were never visited are selected first, in the order they were added.
+     *
+     * @param node        expanded node
+     * @param exploration weight of the bonus, higher values explore more
+     * @return selected child, or -1 if the node has no legal children
+     */
+    int select(int node, double exploration) {
+        final int first = this.firstChildren[node];
+        final int end = first + this.childCounts[node];
+        final double logVisits = Math.log(Math.max(1, this.visits.get(node)));
+        int best = -1;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            if (this.states.get(child) == ILLEGAL) continue;
+            final int childVisits = this.visits.get(child);
+            if (childVisits == 0) return child;
+            final double value = (double) this.valueSums.get(child) / VALUE_SCALE / childVisits +
+                    exploration * Math.sqrt(logVisits / childVisits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Add a virtual loss to a node that a playout passes through
+     *
+     * @param node on the path of the playout
+     */
+    void addVirtualLoss(int node) {
+        this.visits.addAndGet(node, VIRTUAL_LOSS);
+    }
+
+    /**
+     * Replace the virtual loss of a node by the result of the playout
+     *
+     * @param node  on the path of the playout
+     * @param value of the playout from the view of the player who made the move into the node,
+     *              between 0 and VALUE_SCALE
+     */
+    void backup(int node, int value) {
+        this.visits.addAndGet(node, 1 - VIRTUAL_LOSS);
+        this.valueSums.addAndGet(node, value);
+    }
+
+    /**
+     * @param node of the tree
+     * @return state of the node
+     */
+    int state(int node) {
+        return this.states.get(node);
+    }
+
+    /**
+     * @param node of the tree
+     * @return code of the move into the node, see MoveCodes
+     */
+    int moveCode(int node) {
+        return this.moveCodes[node];
+    }
+
+    /**
+     * @param node expanded node
+     * @return index of the first child of the node
+     */
+    int firstChild(int node) {
+        return this.firstChildren[node];
+    }
+
+    /**
+     * @param node expanded node
+     * @return number of children of the node
+     */
+    int childCount(int node) {
+        return this.childCounts[node];
+    }
+
+    /**
+     * @param node of the tree
+     * @return number of playouts through the node, including playouts that are still running
+     */
+    int visits(int node) {
+        return this.visits.get(node);
+    }
+
+    /**
+     * @param node visited node
+     * @return average value of the playouts through the node, from the view of the player who made the move into it,
+     * between 0 and 1
+     */
+    double averageValue(int node) {
+        return (double) this.valueSums.get(node) / VALUE_SCALE / Math.max(1, this.visits.get(node));
+    }
+
+    /**
+     * @param node expanded node
+     * @return the legal child with the most visits, or -1 if there is none
+     */
+    int mostVisitedChild(int node) {
+        final int first = this.firstChildren[node];
+        final int end = first + this.childCounts[node];
+        int best = -1;
+        for (int child = first; child < end; child++) {
+            if (this.states.get(child) != ILLEGAL && (best < 0 || this.visits.get(child) > this.visits.get(best))) {
+                best = child;
+            }
+        }
+        return best;
+    }
+}
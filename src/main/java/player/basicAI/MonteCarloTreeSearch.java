@@ -0,0 +1,441 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+import pieces.Alliance;
+import player.MoveTransition;
+import player.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static board.Move.NullMove;
+
+/**
+ * An implementation of Monte Carlo tree search with the UCT selection formula. Every playout walks down the tree
+ * from the root, choosing the child with the best balance of average value and uncertainty, until it reaches a node
+ * that has not been expanded. That node is expanded, and instead of playing random moves to the end of the game the
+ * node is scored by the board evaluator, together with the best capture the player to move has according to the
+ * static exchange evaluation. The score, turned into an expected result between loss and win, is backed up along the
+ * path. The move played most often from the root is the best move.
+ * With more than one thread, all threads grow the same tree without locks, using virtual losses to keep them from
+ * all following the same path (tree parallelism). The tree is a pool of nodes of a fixed size, allocated once.
+ * A search runs within the time or node budget of its limits, where every playout counts as one node, and the tree
+ * never grows deeper than the depth limit. A search without a budget runs the number of playouts of the strategy.
+ *
+ * @see <a href="https://www.chessprogramming.org/Monte-Carlo_Tree_Search">Monte-Carlo Tree Search</a>
+ * @see <a href="https://www.chessprogramming.org/UCT">UCT</a>
+ */
+public class MonteCarloTreeSearch implements MoveStrategy {
+    // number of nodes in the tree, at 28 bytes per node
+    public static final int DEFAULT_TREE_SIZE = 1 << 20;
+    // weight of the uncertainty of a move against its average value
+    private static final double EXPLORATION = 1.0;
+    // centipawns that make the player to move ten times more likely to win than to lose
+    private static final double SCORE_SCALE = 400;
+    // playouts before the first progress report, every next report is after twice as many
+    private static final long FIRST_REPORT = 256;
+    private final MonteCarloTree tree;
+    private final PlayoutWorker[] workers;
+    private final int playouts;
+    private volatile SearchListener searchListener;
+    private volatile long[] gameHistory = new long[0];
+    private volatile SearchControl activeControl;
+
+    /**
+     * The constructor for Monte Carlo tree search
+     *
+     * @param playouts             number of playouts of a search without a time or node budget
+     * @param usePieceSquareBoards to use piece-square board or not
+     * @param printMoveInformation to print the progress of every search to the console
+     */
+    public MonteCarloTreeSearch(int playouts, boolean usePieceSquareBoards, boolean printMoveInformation) {
+        this(playouts, usePieceSquareBoards, printMoveInformation, DEFAULT_TREE_SIZE, 1);
+    }
+
+    /**
+     * The constructor for Monte Carlo tree search with a given tree size and number of threads
+     *
+     * @param playouts             number of playouts of a search without a time or node budget
+     * @param usePieceSquareBoards to use piece-square board or not
+     * @param printMoveInformation to print the progress of every search to the console
+     * @param treeSize             number of nodes the tree can hold, shared by all threads
+     * @param threadCount          number of threads growing the tree of each move
+     */
+    public MonteCarloTreeSearch(int playouts, boolean usePieceSquareBoards, boolean printMoveInformation,
+                                int treeSize, int threadCount) {
+        if (playouts < 1) throw new IllegalArgumentException("At least one playout is needed to search");
+        if (threadCount < 1) throw new IllegalArgumentException("At least one thread is needed to search");
+        this.tree = new MonteCarloTree(treeSize);
+        this.workers = new PlayoutWorker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            // the evaluator keeps state between evaluations, every thread needs its own
+            this.workers[i] = new PlayoutWorker(this.tree, new RegularBoardEvaluator(usePieceSquareBoards));
+        }
+        this.playouts = playouts;
+        this.searchListener = printMoveInformation ? new ConsoleSearchListener() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Monte Carlo";
+    }
+
+    /**
+     * Execute Monte Carlo tree search for the current player with the number of playouts of this strategy
+     *
+     * @param board to generate move for
+     * @return best move found
+     */
+    @Override
+    public Move execute(Board board) {
+        return execute(board, new SearchLimits.Builder().setMaxNodes(this.playouts).build());
+    }
+
+    /**
+     * Search the best move for the current player by growing a new tree until the budget runs out.
+     * The progress is reported every time the number of playouts doubles, with the moves played most often as the
+     * principal variation and the length of that line as the depth.
+     * If the limits ask for more than one line (multi-PV), the root moves played most often are returned as
+     * candidates, most played first. Searches of the same strategy are run one at a time.
+     *
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search, a node is a playout
+     * @param token  that cancels this search
+     * @return best move found and the statistics of the search
+     */
+    @Override
+    public synchronized SearchResult search(Board board, SearchLimits limits, CancellationToken token) {
+        if (token.isCancelled()) return SearchResult.empty();
+        final long startTime = token.getStartTime();
+        final SearchLimits budget = limits.hasBudget() ? limits : new SearchLimits.Builder()
+                .setMaxDepth(limits.getMaxDepth())
+                .setMaxNodes(this.playouts)
+                .setMultiPv(limits.getMultiPv())
+                .build();
+        final SearchListener listener = this.searchListener;
+        final SearchControl control = new SearchControl(budget, startTime, listener);
+        token.attach(control);
+        this.activeControl = control;
+        this.tree.clear();
+        final long[] gameHistory = this.gameHistory;
+        for (PlayoutWorker worker : this.workers) worker.setGameHistory(gameHistory, board);
+
+        final List<SearchIteration> iterations = new ArrayList<>();
+        this.workers[0].expandRoot(board);
+        if (this.tree.state(MonteCarloTree.ROOT) == MonteCarloTree.EXPANDED) {
+            final List<Thread> helpers = new ArrayList<>(this.workers.length - 1);
+            for (int i = 1; i < this.workers.length; i++) {
+                final PlayoutWorker worker = this.workers[i];
+                final Thread helper = new Thread(() -> worker.run(board, control), "Monte Carlo helper " + i);
+                helper.setDaemon(true);
+                helpers.add(helper);
+                helper.start();
+            }
+
+            long nextReport = FIRST_REPORT;
+            long reportTime = startTime;
+            while (!control.isStopped()) {
+                this.workers[0].playout(board, control.getMaxDepth());
+                control.addNodes(1);
+                if (control.getNodeCount() >= nextReport) {
+                    iterations.add(createIteration(board, control, reportTime));
+                    control.reportIteration(iterations.get(iterations.size() - 1));
+                    reportTime = System.currentTimeMillis();
+                    nextReport *= 2;
+                }
+            }
+            for (Thread helper : helpers) {
+                try {
+                    helper.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            // the last report is only up to date if no playouts were made since
+            final long reportedNodes = iterations.isEmpty() ? 0 : iterations.get(iterations.size() - 1).getNodes();
+            if (reportedNodes < control.getNodeCount()) iterations.add(createIteration(board, control, reportTime));
+        }
+
+        final SearchStats stats = new SearchStats.Builder()
+                .setNodes(control.getNodeCount())
+                .setTimeMillis(System.currentTimeMillis() - startTime)
+                .setThreadCount(this.workers.length)
+                .setIterations(iterations)
+                .build();
+        if (listener != null) listener.onSearchFinished(stats);
+        final List<CandidateMove> candidateMoves = candidateMoves(board, budget.getMultiPv());
+        if (candidateMoves.isEmpty()) return new SearchResult(new NullMove(), stats, candidateMoves);
+        return new SearchResult(candidateMoves.get(0).getMove(), stats, candidateMoves);
+    }
+
+    /**
+     * Set the listener that is told about the progress of every search, replaces the console output
+     *
+     * @param listener to tell, or null to stop listening
+     */
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.searchListener = listener;
+    }
+
+    /**
+     * Set the positions played in the game so far, a playout that repeats one of them ends in a draw
+     *
+     * @param boards played in the game, oldest first, may end with the board to generate a move for
+     */
+    @Override
+    public void setGameHistory(List<Board> boards) {
+        this.gameHistory = PositionHistory.hashesOf(boards);
+    }
+
+    /**
+     * Cancel the running search, safe to call from any thread
+     */
+    @Override
+    public void stop() {
+        final SearchControl activeControl = this.activeControl;
+        if (activeControl != null) activeControl.cancel();
+    }
+
+    /**
+     * Describe the tree as it is now, the threads may still be growing it
+     *
+     * @param board      at the root of the tree
+     * @param control    of the search
+     * @param reportTime of the previous report, in milliseconds
+     * @return the current best line and its score
+     */
+    private SearchIteration createIteration(Board board, SearchControl control, long reportTime) {
+        final int bestChild = this.tree.mostVisitedChild(MonteCarloTree.ROOT);
+        final List<Move> principalVariation = principalVariation(board, bestChild);
+        final long now = System.currentTimeMillis();
+        return new SearchIteration(principalVariation.size(), score(bestChild), principalVariation,
+                control.getNodeCount(), now - control.getStartTime(), now - reportTime);
+    }
+
+    /**
+     * @param board     at the root of the tree
+     * @param lineCount number of candidates to find
+     * @return the root moves played most often with their scores and lines, most played first
+     */
+    private List<CandidateMove> candidateMoves(Board board, int lineCount) {
+        if (this.tree.state(MonteCarloTree.ROOT) != MonteCarloTree.EXPANDED) return Collections.emptyList();
+        final List<Integer> children = new ArrayList<>();
+        final int first = this.tree.firstChild(MonteCarloTree.ROOT);
+        for (int child = first; child < first + this.tree.childCount(MonteCarloTree.ROOT); child++) {
+            if (this.tree.state(child) != MonteCarloTree.ILLEGAL) children.add(child);
+        }
+        children.sort((a, b) -> Integer.compare(this.tree.visits(b), this.tree.visits(a)));
+
+        final List<CandidateMove> candidateMoves = new ArrayList<>(lineCount);
+        for (int child : children) {
+            final List<Move> principalVariation = principalVariation(board, child);
+            // a move that was never played may still turn out to be illegal
+            if (principalVariation.isEmpty()) continue;
+            candidateMoves.add(new CandidateMove(principalVariation.get(0), score(child), principalVariation));
+            if (candidateMoves.size() == lineCount) break;
+        }
+        return candidateMoves;
+    }
+
+    /**
+     * Follow the moves played most often, starting with a root move
+     *
+     * @param board at the root of the tree
+     * @param node  child of the root to start with
+     * @return the line, empty if the root move is not legal
+     */
+    private List<Move> principalVariation(Board board, int node) {
+        final List<Move> principalVariation = new ArrayList<>();
+        while (node >= 0 && principalVariation.size() < KillerMoves.MAX_PLY) {
+            final Move move = MoveCodes.find(board.currentPlayer().getLegalMoves(), this.tree.moveCode(node));
+            if (move == null) break;
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) break;
+            principalVariation.add(move);
+            board = moveTransition.getTransitionBoard();
+
+            if (this.tree.state(node) != MonteCarloTree.EXPANDED) break;
+            node = this.tree.mostVisitedChild(node);
+            if (node >= 0 && this.tree.visits(node) == 0) break;
+        }
+        return principalVariation;
+    }
+
+    /**
+     * @param node child of the root
+     * @return score of the root move in centipawns, from the view of the player to move at the root
+     */
+    private int score(int node) {
+        if (node < 0) return 0;
+        if (this.tree.state(node) == MonteCarloTree.CHECKMATE) return SearchWorker.MATE_SCORE - 1;
+        final double value = Math.min(0.9999, Math.max(0.0001, this.tree.averageValue(node)));
+        return (int) Math.round(SCORE_SCALE * Math.log10(value / (1 - value)));
+    }
+
+    /**
+     * A thread growing the tree, with its own evaluator and the line of positions of its current playout
+     */
+    private static final class PlayoutWorker {
+        private final MonteCarloTree tree;
+        private final BoardEvaluator boardEvaluator;
+        private final PositionHistory positionHistory = new PositionHistory();
+        // killer moves and history stay empty, captures are ordered by the move picker and quiet moves by piece
+        private final KillerMoves killerMoves = new KillerMoves();
+        private final HistoryTable historyTable = new HistoryTable();
+        private final int[] path = new int[KillerMoves.MAX_PLY + 1];
+        private int[] moveCodes = new int[64];
+
+        private PlayoutWorker(MonteCarloTree tree, BoardEvaluator boardEvaluator) {
+            this.tree = tree;
+            this.boardEvaluator = boardEvaluator;
+        }
+
+        private void setGameHistory(long[] gameHashes, Board root) {
+            this.positionHistory.seed(gameHashes, root);
+        }
+
+        /**
+         * Expand the root before the threads start, so that they all have its children to choose from
+         *
+         * @param board at the root of the tree
+         */
+        private void expandRoot(Board board) {
+            if (this.tree.claim(MonteCarloTree.ROOT)) expand(board, MonteCarloTree.ROOT);
+        }
+
+        /**
+         * Make playouts until the search is stopped
+         *
+         * @param board   at the root of the tree
+         * @param control of the search
+         */
+        private void run(Board board, SearchControl control) {
+            while (!control.isStopped()) {
+                playout(board, control.getMaxDepth());
+                control.addNodes(1);
+            }
+        }
+
+        /**
+         * Walk down the tree to a leaf, expand and evaluate it, and back up the value along the path
+         *
+         * @param board    at the root of the tree
+         * @param maxDepth deepest ply that may be expanded
+         */
+        private void playout(Board board, int maxDepth) {
+            final int maxPly = Math.min(maxDepth, KillerMoves.MAX_PLY - 1);
+            int node = MonteCarloTree.ROOT;
+            int ply = 0;
+            this.path[0] = node;
+            this.tree.addVirtualLoss(node);
+
+            // value of the leaf for the player to move there
+            int value;
+            while (true) {
+                final int state = this.tree.state(node);
+                if (state == MonteCarloTree.CHECKMATE) {
+                    value = 0;
+                    break;
+                }
+                final long hash = board.getZobristHash();
+                if (state == MonteCarloTree.STALEMATE || ply > 0 && (isDrawByRule(board) ||
+                        this.positionHistory.isRepetition(ply, hash, board.getHalfmoveClock()))) {
+                    value = MonteCarloTree.VALUE_SCALE / 2;
+                    break;
+                }
+                this.positionHistory.set(ply, hash);
+
+                final int child = state == MonteCarloTree.EXPANDED && ply < maxPly ? this.tree.select(node, EXPLORATION) : -1;
+                if (child >= 0) {
+                    final Move move = MoveCodes.find(board.currentPlayer().getLegalMoves(), this.tree.moveCode(child));
+                    final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+                    if (!moveTransition.getMoveStatus().isDone()) {
+                        // found out on the first visit, the node is never selected again
+                        this.tree.setIllegal(child);
+                        continue;
+                    }
+                    board = moveTransition.getTransitionBoard();
+                    node = child;
+                    this.path[++ply] = node;
+                    this.tree.addVirtualLoss(node);
+                    continue;
+                }
+
+                // another thread may be expanding the node, or the tree may be full; the leaf is then only evaluated
+                if (state == MonteCarloTree.UNEXPANDED && ply < maxPly && this.tree.claim(node)) {
+                    value = expand(board, node);
+                } else {
+                    value = evaluate(board);
+                }
+                break;
+            }
+
+            // the value of a node is stored from the view of the player who made the move into it
+            for (int i = ply; i >= 0; i--) {
+                value = MonteCarloTree.VALUE_SCALE - value;
+                this.tree.backup(this.path[i], value);
+            }
+        }
+
+        /**
+         * Add the moves of a claimed node to the tree, best captures first, or mark it as terminal
+         *
+         * @param board of the node
+         * @param node  claimed by this thread
+         * @return value of the node for the player to move
+         */
+        private int expand(Board board, int node) {
+            final Player player = board.currentPlayer();
+            if (player.isInCheck() ? player.isInCheckmate() : player.isInStalemate()) {
+                this.tree.setTerminal(node, player.isInCheck() ? MonteCarloTree.CHECKMATE : MonteCarloTree.STALEMATE);
+                return player.isInCheck() ? 0 : MonteCarloTree.VALUE_SCALE / 2;
+            }
+
+            final MovePicker movePicker = new MovePicker(player.getLegalMoves(), MoveCodes.NO_MOVE,
+                    this.killerMoves, this.historyTable, 0, player.getAlliance());
+            int count = 0;
+            while (movePicker.hasNext()) {
+                movePicker.next();
+                if (count == this.moveCodes.length) this.moveCodes = Arrays.copyOf(this.moveCodes, count * 2);
+                this.moveCodes[count++] = movePicker.lastMoveCode();
+            }
+            this.tree.expand(node, this.moveCodes, count);
+            return evaluate(board);
+        }
+
+        /**
+         * Evaluate a leaf; the static score of the board plus the material the player to move can win with a capture,
+         * turned into an expected result
+         *
+         * @param board to evaluate
+         * @return value of the board for the player to move, between 0 and VALUE_SCALE
+         */
+        private int evaluate(Board board) {
+            final Player player = board.currentPlayer();
+            final int staticScore = this.boardEvaluator.evaluate(board, 0);
+            int score = player.getAlliance() == Alliance.WHITE ? staticScore : -staticScore;
+            if (!player.isInCheck()) {
+                int bestExchange = 0;
+                for (Move move : player.getLegalMoves()) {
+                    if (!MovePicker.isQuiet(move)) bestExchange = Math.max(bestExchange, board.staticExchangeEvaluation(move));
+                }
+                score += bestExchange;
+            }
+            return (int) (MonteCarloTree.VALUE_SCALE / (1 + Math.pow(10, -score / SCORE_SCALE)));
+        }
+
+        /**
+         * Check if the board is drawn by the fifty-move rule or by insufficient material
+         *
+         * @param board to check
+         * @return true if the position is drawn
+         */
+        private static boolean isDrawByRule(Board board) {
+            return board.isFiftyMoveRuleDraw() || board.hasInsufficientMaterial();
+        }
+    }
+}
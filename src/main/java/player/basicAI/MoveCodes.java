@@ -0,0 +1,61 @@
+package player.basicAI;
+
+import board.Coordinate;
+import board.Move;
+import board.Move.PawnPromotion;
+
+import java.util.Collection;
+
+/**
+ * Helper class that encodes moves as compact integers, so that they can be stored in primitive tables.
+ * A code holds the start square (6 bits), destination square (6 bits) and promotion type (3 bits).
+ * The code 0 represents "no move".
+ */
+final class MoveCodes {
+    static final int NO_MOVE = 0;
+
+    private MoveCodes() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    /**
+     * Encode a move
+     *
+     * @param move to encode
+     * @return integer code of the move (15 bits)
+     */
+    static int encode(Move move) {
+        int promotion = 0;
+        if (move instanceof PawnPromotion) {
+            switch (((PawnPromotion) move).getUpgradeType()) {
+                case QUEEN: promotion = 1; break;
+                case ROOK: promotion = 2; break;
+                case BISHOP: promotion = 3; break;
+                default: promotion = 4;
+            }
+        }
+        return (promotion << 12) | (squareIndex(move.getCurrentCoordinate()) << 6) | squareIndex(move.getDestinationCoordinate());
+    }
+
+    /**
+     * Find the move with a given code in a collection of moves
+     *
+     * @param moves to search in
+     * @param code  of the move
+     * @return the move with the given code, or null if no move matches
+     */
+    static Move find(Collection<Move> moves, int code) {
+        if (code == NO_MOVE) return null;
+        for (Move move : moves) {
+            if (encode(move) == code) return move;
+        }
+        return null;
+    }
+
+    /**
+     * Integer representation of a coordinate, same layout as BoardUtils (a8 = 0, h1 = 63)
+     */
+    private static int squareIndex(Coordinate coordinate) {
+        return coordinate.getY() * 8 + coordinate.getX();
+    }
+}
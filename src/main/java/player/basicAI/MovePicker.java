@@ -0,0 +1,153 @@
+package player.basicAI;
+
+import board.Move;
+import board.Move.PawnPromotion;
+import pieces.Alliance;
+import pieces.Piece;
+
+import java.util.Collection;
+
+/**
+ * Orders the moves of a position for the search. Every move is scored once into a primitive array, and the moves
+ * are then selected one at a time by picking the highest remaining score. Most nodes are cut off after a few moves,
+ * so the rest of the moves never need to be sorted.
+ * General order outline:
+ * The best move stored in the transposition table
+ * Captures and promotions that do not lose material, using the MVV-LVA heuristic
+ * Killer moves of the ply
+ * Castling moves
+ * Remaining quiet moves, using the history heuristic and moving less valuable pieces first
+ * Captures and promotions that lose material according to the static exchange evaluation, least loss first
+ */
+final class MovePicker {
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 26;
+    private static final int CASTLE_SCORE = KILLER_SCORE - 2;
+    private static final int PIECE_ORDER_BITS = 3;
+
+    private final Move[] moves;
+    private final int[] moveCodes;
+    private final int[] scores;
+    private int picked;
+
+    /**
+     * Score the moves of a position
+     *
+     * @param moves        to order
+     * @param hashMoveCode code of the best move stored in the transposition table, or MoveCodes.NO_MOVE
+     * @param killerMoves  killer moves of the search
+     * @param historyTable history table of the search
+     * @param ply          distance from the root of the search
+     * @param alliance     of the player to move
+     */
+    MovePicker(Collection<Move> moves, int hashMoveCode, KillerMoves killerMoves, HistoryTable historyTable,
+               int ply, Alliance alliance) {
+        this.moves = moves.toArray(new Move[0]);
+        this.moveCodes = new int[this.moves.length];
+        this.scores = new int[this.moves.length];
+        for (int i = 0; i < this.moves.length; i++) {
+            final Move move = this.moves[i];
+            final int moveCode = MoveCodes.encode(move);
+            this.moveCodes[i] = moveCode;
+            if (moveCode == hashMoveCode) {
+                this.scores[i] = HASH_MOVE_SCORE;
+            } else if (!isQuiet(move)) {
+                final int exchange = move.getBoard().staticExchangeEvaluation(move);
+                this.scores[i] = exchange >= 0 ? CAPTURE_SCORE + mvvlva(move) : exchange;
+            } else {
+                final int killerSlot = killerMoves.slotOf(ply, moveCode);
+                if (killerSlot >= 0) this.scores[i] = KILLER_SCORE - killerSlot;
+                else if (move.isCastlingMove()) this.scores[i] = CASTLE_SCORE;
+                else this.scores[i] = (historyTable.score(alliance, moveCode) << PIECE_ORDER_BITS) + pieceOrder(move);
+            }
+        }
+    }
+
+    /**
+     * @return true if there are moves left to pick
+     */
+    boolean hasNext() {
+        return this.picked < this.moves.length;
+    }
+
+    /**
+     * Pick the remaining move with the highest score
+     *
+     * @return the next move to search
+     */
+    Move next() {
+        int best = this.picked;
+        for (int i = this.picked + 1; i < this.moves.length; i++) {
+            if (this.scores[i] > this.scores[best]) best = i;
+        }
+        swap(best, this.picked);
+        return this.moves[this.picked++];
+    }
+
+    /**
+     * @return code of the move that was picked last, see MoveCodes
+     */
+    int lastMoveCode() {
+        return this.moveCodes[this.picked - 1];
+    }
+
+    /**
+     * @return true if the move that was picked last is a capture or promotion that loses material
+     */
+    boolean isLosingCapture() {
+        return this.scores[this.picked - 1] < 0;
+    }
+
+    /**
+     * A move is quiet if it does not change the material on the board
+     *
+     * @param move to check
+     * @return true if the move is neither a capture nor a promotion
+     */
+    static boolean isQuiet(Move move) {
+        return !move.isAttack() && !(move instanceof PawnPromotion);
+    }
+
+    /**
+     * Gives a score for a move according to the "Most Valueable Victim - Least Valuable Aggressor" heuristic
+     *
+     * @param move to evaluate
+     * @return score for the move
+     * @see <a href="https://chessprogramming.wikispaces.com/MVV-LVA">MVV-LVA</a>
+     */
+    static int mvvlva(final Move move) {
+        final Piece movingPiece = move.getMovedPiece();
+        int score = 0;
+        if (move.isAttack()) {
+            final Piece attackedPiece = move.getAttackedPiece();
+            score = (attackedPiece.getPieceType().getPieceValue() - movingPiece.getPieceType().getPieceValue() + Piece.PieceType.KING.getPieceValue()) * 100;
+        }
+        if (move instanceof PawnPromotion) {
+            score += ((PawnPromotion) move).getUpgradeType().getPieceValue() * 100;
+        }
+        return score;
+    }
+
+    /**
+     * Breaks ties between quiet moves with the same history score, moves of less valuable pieces are tried first
+     *
+     * @param move to order
+     * @return a value between 0 (king) and 5 (pawn)
+     */
+    private static int pieceOrder(Move move) {
+        return Piece.PieceType.KING.ordinal() - move.getMovedPiece().getPieceType().ordinal();
+    }
+
+    private void swap(int i, int j) {
+        final Move move = this.moves[i];
+        this.moves[i] = this.moves[j];
+        this.moves[j] = move;
+        final int moveCode = this.moveCodes[i];
+        this.moveCodes[i] = this.moveCodes[j];
+        this.moveCodes[j] = moveCode;
+        final int score = this.scores[i];
+        this.scores[i] = this.scores[j];
+        this.scores[j] = score;
+    }
+}
@@ -3,6 +3,8 @@ package player.basicAI;
 import board.Board;
 import board.Move;
 
+import java.util.List;
+
 /**
  * The general interface for a move strategy
  */
@@ -16,4 +18,67 @@ public interface MoveStrategy {
      */
     Move execute(Board board);
 
+    /**
+     * This method shall generate the best move available according to it's given
+     * move strategy logic, without searching past the given limits
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @return the best Move found within the limits
+     */
+    default Move execute(Board board, SearchLimits limits) {
+        return search(board, limits).getBestMove();
+    }
+
+    /**
+     * This method shall search the best move available like execute, and
+     * also return the statistics of the search
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @return the best Move found within the limits and the statistics of the search
+     */
+    default SearchResult search(Board board, SearchLimits limits) {
+        return search(board, limits, new CancellationToken());
+    }
+
+    /**
+     * This method shall search the best move available like execute, and stop as soon as
+     * possible once the token is cancelled, leaving any other search of the strategy running.
+     * A search whose token is already cancelled shall return a null move without searching.
+     * The move time shall count from the start time of the token, including any wait for an earlier search
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @param token  that cancels this search only
+     * @return the best Move found within the limits and the statistics of the search
+     */
+    SearchResult search(Board board, SearchLimits limits, CancellationToken token);
+
+    /**
+     * This method shall set the listener that is told about the progress of the searches
+     * @param listener to tell, or null to stop listening
+     */
+    void setSearchListener(SearchListener listener);
+
+    /**
+     * This method shall set the positions played in the game so far, so that the strategy
+     * can recognise positions that repeat them
+     * @param boards played in the game, oldest first, may end with the board to generate a move for
+     */
+    void setGameHistory(List<Board> boards);
+
+    /**
+     * This method shall stop every search of the strategy as soon as possible,
+     * and may be called from any thread. Use a cancellation token to stop a single search
+     */
+    void stop();
+
+    /**
+     * Execute the strategy on a background thread
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @return handle that gives the move once the search is done, and can cancel it
+     */
+    default SearchHandle start(Board board, SearchLimits limits) {
+        return SearchHandle.start(this, board, limits);
+    }
+
 }
@@ -0,0 +1,81 @@
+package player.basicAI;
+
+import board.Board;
+
+import java.util.List;
+
+/**
+ * Stack of the Zobrist hashes of the positions leading to the node being searched, used to find repetitions.
+ * The positions played in the game before the root come first, followed by one slot for every ply of the search.
+ * A node writes its hash into the slot of its ply, so the slots below it always hold the line from the root to the
+ * node, and nothing has to be removed when the search returns.
+ * Only positions since the last capture or pawn move can repeat, so a lookup reads every other slot within the
+ * halfmove clock of the node, and never allocates.
+ *
+ * @see <a href="https://www.chessprogramming.org/Repetitions">Repetitions</a>
+ */
+final class PositionHistory {
+    // a position can only repeat after both players have made at least two moves
+    private static final int MIN_REPETITION_DISTANCE = 4;
+
+    private long[] hashes = new long[KillerMoves.MAX_PLY + 1];
+    private int gameLength;
+
+    /**
+     * Fill the stack with the positions played before the root of the next search
+     *
+     * @param gameHashes hashes of the positions played in the game, oldest first; the last one is ignored if it is
+     *                   the root itself
+     * @param root       board the next search starts from
+     */
+    void seed(long[] gameHashes, Board root) {
+        final long rootHash = root.getZobristHash();
+        int length = gameHashes.length;
+        if (length > 0 && gameHashes[length - 1] == rootHash) length--;
+        if (this.hashes.length < length + KillerMoves.MAX_PLY + 1) {
+            this.hashes = new long[length + KillerMoves.MAX_PLY + 1];
+        }
+        System.arraycopy(gameHashes, 0, this.hashes, 0, length);
+        this.gameLength = length;
+        this.hashes[length] = rootHash;
+    }
+
+    /**
+     * Record the position of a node, replacing the position that was searched at this ply before
+     *
+     * @param ply  distance from the root of the search
+     * @param hash Zobrist hash of the board
+     */
+    void set(int ply, long hash) {
+        final int index = this.gameLength + ply;
+        if (index < this.hashes.length) this.hashes[index] = hash;
+    }
+
+    /**
+     * Check if the position of a node already occurred in the game or earlier in the line leading to it
+     *
+     * @param ply           distance from the root of the search
+     * @param hash          Zobrist hash of the board
+     * @param halfmoveClock halfmoves since the last capture or pawn move
+     * @return true if the position is a repetition
+     */
+    boolean isRepetition(int ply, long hash, int halfmoveClock) {
+        final int index = this.gameLength + ply;
+        if (index >= this.hashes.length) return false;
+        final int oldest = Math.max(0, index - halfmoveClock);
+        for (int i = index - MIN_REPETITION_DISTANCE; i >= oldest; i -= 2) {
+            if (this.hashes[i] == hash) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param boards played in the game, oldest first
+     * @return the Zobrist hashes of the boards
+     */
+    static long[] hashesOf(List<Board> boards) {
+        final long[] hashes = new long[boards.size()];
+        for (int i = 0; i < hashes.length; i++) hashes[i] = boards.get(i).getZobristHash();
+        return hashes;
+    }
+}
@@ -0,0 +1,147 @@
+package player.basicAI;
+
+import java.util.Arrays;
+
+/**
+ * Triangular table of principal variations; for every ply, the best line found from the node being searched at that
+ * ply. When a move raises alpha, the line of its node becomes the move followed by the line of the child, so once
+ * the root is done its row holds the line both players are expected to play.
+ * The line of the last completed iteration is kept, and the nodes along it try its moves first in the next iteration,
+ * even when the transposition table entries of the line have been overwritten. When the game follows the line,
+ * the rest of it is kept for the search of the next move as well.
+ * Moves are stored as codes (see MoveCodes), so updating a line never allocates.
+ *
+ * @see <a href="https://www.chessprogramming.org/Triangular_PV-Table">Triangular PV-Table</a>
+ */
+final class PrincipalVariationTable {
+    private static final int MAX_PLY = KillerMoves.MAX_PLY;
+
+    private final int[][] lines = new int[MAX_PLY][MAX_PLY];
+    private final int[] lengths = new int[MAX_PLY];
+    private final int[] previousLine = new int[MAX_PLY];
+    private int previousEnd;
+    // true for the plys of the current line that follow the previous line so far
+    private final boolean[] followsPrevious = new boolean[MAX_PLY + 1];
+
+    /**
+     * Start a search from a given ply, the nodes on the previous line are ordered by it
+     *
+     * @param rootPly ply of the root of the search
+     */
+    void startSearch(int rootPly) {
+        this.followsPrevious[rootPly] = true;
+        clear(rootPly);
+    }
+
+    /**
+     * Forget the previous line, before searching a position it does not belong to
+     */
+    void clearPrevious() {
+        this.previousEnd = 0;
+    }
+
+    /**
+     * Move the previous line closer to the root, for a search that starts some plys into it
+     *
+     * @param plys between the root of the previous search and the new root
+     */
+    void shiftPrevious(int plys) {
+        final int length = Math.max(0, this.previousEnd - plys);
+        System.arraycopy(this.previousLine, plys, this.previousLine, 0, length);
+        this.previousEnd = length;
+    }
+
+    /**
+     * Empty the line of a node, to be done when the node is entered
+     *
+     * @param ply of the node
+     */
+    void clear(int ply) {
+        if (ply < MAX_PLY) this.lengths[ply] = 0;
+    }
+
+    /**
+     * Set the line of a node to a move followed by the line of its child
+     *
+     * @param ply      of the node
+     * @param moveCode of the move that raised alpha
+     */
+    void update(int ply, int moveCode) {
+        if (ply >= MAX_PLY) return;
+        final int[] line = this.lines[ply];
+        line[0] = moveCode;
+        int length = 1;
+        if (ply + 1 < MAX_PLY) {
+            // a line never reaches past the last ply
+            final int childLength = Math.min(this.lengths[ply + 1], MAX_PLY - ply - 1);
+            System.arraycopy(this.lines[ply + 1], 0, line, 1, childLength);
+            length += childLength;
+        }
+        this.lengths[ply] = length;
+    }
+
+    /**
+     * Record the move made from a node, before its child is searched
+     *
+     * @param ply      of the node
+     * @param moveCode of the move, MoveCodes.NO_MOVE for a null move
+     */
+    void enter(int ply, int moveCode) {
+        if (ply < MAX_PLY) {
+            this.followsPrevious[ply + 1] = this.followsPrevious[ply] && ply < this.previousEnd &&
+                    this.previousLine[ply] == moveCode && moveCode != MoveCodes.NO_MOVE;
+        }
+    }
+
+    /**
+     * @param ply of the node
+     * @return the move of the previous line to try first at the node, or MoveCodes.NO_MOVE if the node is not on it
+     */
+    int previousMove(int ply) {
+        return ply < this.previousEnd && this.followsPrevious[ply] ? this.previousLine[ply] : MoveCodes.NO_MOVE;
+    }
+
+    /**
+     * Keep the current line of the root, to be followed in the next search
+     *
+     * @param rootPly ply of the root of the search
+     */
+    void savePrevious(int rootPly) {
+        final int length = lineLength(rootPly);
+        System.arraycopy(this.lines[rootPly], 0, this.previousLine, rootPly, length);
+        this.previousEnd = rootPly + length;
+    }
+
+    /**
+     * @return a copy of the previous line, as move codes from the first ply
+     */
+    int[] copyPrevious() {
+        return Arrays.copyOf(this.previousLine, this.previousEnd);
+    }
+
+    /**
+     * Replace the previous line by a copy made earlier
+     *
+     * @param line as move codes from the first ply
+     */
+    void restorePrevious(int[] line) {
+        System.arraycopy(line, 0, this.previousLine, 0, line.length);
+        this.previousEnd = line.length;
+    }
+
+    /**
+     * @param ply of a node on the previous line
+     * @return code of the move the previous line makes at the ply, or MoveCodes.NO_MOVE if the line is shorter
+     */
+    int previousLineMove(int ply) {
+        return ply < this.previousEnd ? this.previousLine[ply] : MoveCodes.NO_MOVE;
+    }
+
+    /**
+     * @param ply of the node
+     * @return number of moves in the line of the node
+     */
+    private int lineLength(int ply) {
+        return ply < MAX_PLY ? this.lengths[ply] : 0;
+    }
+}
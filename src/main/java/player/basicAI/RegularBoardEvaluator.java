@@ -129,8 +129,8 @@ public final class RegularBoardEvaluator implements BoardEvaluator {
     }
 
     /**
-     * Check if the player is able to attack a more or equally valuable piece with a piece of lower value,
-     * and account a bonus if so.
+     * Check if the player is able to win material by a capture, and account a bonus if so.
+     * A capture wins material if the static exchange evaluation of the capture is positive.
      *
      * @param player to evaluate
      * @return bonus for attacking
@@ -138,13 +138,9 @@ public final class RegularBoardEvaluator implements BoardEvaluator {
     private static int attackValue(final Player player) {
         int attackScore = 0;
         for (Move move: player.getLegalMoves()) {
-            if (move.isAttack()) {
-                final Piece movingPiece = move.getMovedPiece();
-                final Piece attackedPiece = move.getAttackedPiece();
-                // if the moving piece attacks a more or equally valuable piece, increase score
-                if (movingPiece.getPieceType().getPieceValue() <= attackedPiece.getPieceType().getPieceValue()) {
-                    attackScore++;
-                }
+            // if the capture wins material once every recapture has been made, increase score
+            if (move.isAttack() && move.getBoard().staticExchangeEvaluation(move) > 0) {
+                attackScore++;
             }
         }
         return attackScore * ATTACK_MULTIPLIER;
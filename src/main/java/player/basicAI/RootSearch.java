@@ -0,0 +1,20 @@
+package player.basicAI;
+
+/**
+ * How the MiniMax strategy keeps the state of the search at the root
+ *
+ * @see RootSplitMiniMax
+ */
+public enum RootSearch {
+    /**
+     * All root moves share the transposition table, killer moves and history of the search, and helper threads
+     * search the same tree (Lazy SMP)
+     */
+    SHARED,
+    /**
+     * Every root move is searched by its own worker with a private transposition table, killer moves and history,
+     * in the order of the root splitting search, so the result is the same as that of RootSplitMiniMax at the same
+     * depth. Searched by one thread, with a single line, internal iterative deepening and without pondering.
+     */
+    PER_ROOT_MOVE
+}
@@ -0,0 +1,122 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A deterministic parallel version of the "MiniMax" strategy that splits the search at the root.
+ * Every iteration, the first root move is searched alone to establish a bound, the remaining root moves are then
+ * searched in parallel with a null window on that bound, and the moves that turn out to be better are searched
+ * again with the full window one by one, in root move order.
+ * Every root move has its own search worker with a private transposition table, killer moves and history table,
+ * so the score of a move only depends on the windows it was searched with and never on the order in which the
+ * threads happen to finish. A search limited by depth therefore always finds the same move, score and line,
+ * whatever the number of threads and however often it is repeated, and the same as the sequential MiniMax strategy
+ * at the same depth when that searches with RootSearch.PER_ROOT_MOVE.
+ *
+ * @see <a href="https://www.chessprogramming.org/Parallel_Search">Parallel Search</a>
+ */
+public class RootSplitMiniMax implements MoveStrategy {
+    private final ForkJoinPool pool;
+    private final RootSplitSearch rootSplitSearch;
+    private final int searchDepth;
+    private volatile SearchListener searchListener;
+    private volatile long[] gameHistory = new long[0];
+    private volatile SearchControl activeControl;
+
+    /**
+     * The constructor for the root splitting MiniMax algorithm
+     *
+     * @param searchDepth          depth of the search (plys)
+     * @param maxQuiescence        maximum depth of the quiescence search (plys), 0 to evaluate the horizon directly
+     * @param usePieceSquareBoards to use piece-square board or not
+     * @param printMoveInformation to print the progress of every search to the console
+     * @param parallelism          number of threads searching root moves at the same time
+     */
+    public RootSplitMiniMax(int searchDepth, int maxQuiescence, boolean usePieceSquareBoards,
+                            boolean printMoveInformation, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("At least one thread is needed to search");
+        this.pool = new ForkJoinPool(parallelism);
+        this.rootSplitSearch = new RootSplitSearch(this.pool, maxQuiescence, usePieceSquareBoards);
+        this.searchDepth = searchDepth;
+        this.searchListener = printMoveInformation ? new ConsoleSearchListener() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "MiniMax+ (root split)";
+    }
+
+    /**
+     * Execute the root splitting algorithm for the current player to the search depth of this strategy
+     *
+     * @param board to generate move for
+     * @return best move found
+     */
+    @Override
+    public Move execute(Board board) {
+        return execute(board, SearchLimits.depth(this.searchDepth));
+    }
+
+    /**
+     * Search with the root splitting algorithm for the current player with iterative deepening. The best move of the
+     * deepest completed iteration is returned, and the first iteration is always completed.
+     * Searches of the same strategy are run one at a time.
+     *
+     * @param board  to generate move for
+     * @param limits depth, time and node limits of the search
+     * @param token  that cancels this search
+     * @return best move found and the statistics of the search
+     */
+    @Override
+    public synchronized SearchResult search(Board board, SearchLimits limits, CancellationToken token) {
+        if (token.isCancelled()) return SearchResult.empty();
+        final SearchListener listener = this.searchListener;
+        final SearchControl control = new SearchControl(limits, token.getStartTime(), listener);
+        token.attach(control);
+        this.activeControl = control;
+        final SearchResult result = this.rootSplitSearch.search(board, control, this.gameHistory);
+        if (listener != null) listener.onSearchFinished(result.getStats());
+        return result;
+    }
+
+    /**
+     * Set the listener that is told about the progress of every search, replaces the console output
+     *
+     * @param listener to tell, or null to stop listening
+     */
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.searchListener = listener;
+    }
+
+    /**
+     * Set the positions played in the game so far, a line of the search that repeats one of them is scored as a draw
+     *
+     * @param boards played in the game, oldest first, may end with the board to generate a move for
+     */
+    @Override
+    public void setGameHistory(List<Board> boards) {
+        this.gameHistory = PositionHistory.hashesOf(boards);
+    }
+
+    /**
+     * Cancel the running search, safe to call from any thread
+     */
+    @Override
+    public void stop() {
+        final SearchControl activeControl = this.activeControl;
+        if (activeControl != null) activeControl.cancel();
+    }
+
+    /**
+     * Cancel the running search and release the threads of the strategy, which can not search anymore afterwards
+     */
+    public void shutdown() {
+        stop();
+        this.pool.shutdown();
+    }
+}
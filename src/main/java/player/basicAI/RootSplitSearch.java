@@ -0,0 +1,208 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+import player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static board.Move.NullMove;
+
+/**
+ * Iterative deepening search that gives every root move its own search worker.
+ * Every iteration, the first root move is searched alone to establish a bound, the remaining root moves are then
+ * searched with a null window on that bound, and the moves that turn out to be better are searched again with the
+ * full window one by one, in root move order.
+ * Every root move has a private transposition table, killer moves and history table, so the score of a move only
+ * depends on the windows it was searched with. The null window searches can therefore run in parallel on a pool,
+ * or one after the other on the calling thread, and give the same move, score and line either way.
+ *
+ * @see <a href="https://www.chessprogramming.org/Parallel_Search">Parallel Search</a>
+ */
+final class RootSplitSearch {
+    // memory used by the transposition table of every root move
+    private static final int ROOT_MOVE_HASH_SIZE = 1;
+    private final ForkJoinPool pool;
+    private final int maxQuiescence;
+    private final boolean usePieceSquareBoards;
+
+    /**
+     * Construct a root splitting search
+     *
+     * @param pool                 to search the null window searches on, or null to search them on the calling thread
+     * @param maxQuiescence        maximum depth of the quiescence search (plys)
+     * @param usePieceSquareBoards to use piece-square board or not
+     */
+    RootSplitSearch(ForkJoinPool pool, int maxQuiescence, boolean usePieceSquareBoards) {
+        this.pool = pool;
+        this.maxQuiescence = maxQuiescence;
+        this.usePieceSquareBoards = usePieceSquareBoards;
+    }
+
+    /**
+     * Search with iterative deepening until the maximum depth is reached or the control is stopped. The best move
+     * of the deepest completed iteration is returned, and the first iteration is always completed.
+     *
+     * @param board       to generate move for
+     * @param control     of the search, with the limits of the search
+     * @param gameHistory Zobrist hashes of the positions played in the game, oldest first
+     * @return best move found and the statistics of the search
+     */
+    SearchResult search(Board board, SearchControl control, long[] gameHistory) {
+        final long startTime = control.getStartTime();
+        final List<RootMove> rootMoves = createRootMoves(board, gameHistory);
+
+        Move bestMove = null;
+        final List<SearchIteration> iterations = new ArrayList<>();
+        long iterationStartTime = startTime;
+        for (int depth = 1; depth <= control.getMaxDepth() && !rootMoves.isEmpty(); depth++) {
+            final RootMove iterationMove = searchIteration(rootMoves, depth, control, depth > 1);
+            if (iterationMove == null) break;
+            bestMove = iterationMove.move;
+
+            final long now = System.currentTimeMillis();
+            final List<Move> principalVariation = iterationMove.worker.principalVariation(board, bestMove, depth);
+            final SearchIteration iteration = new SearchIteration(depth, iterationMove.value, principalVariation,
+                    control.getNodeCount(), now - startTime, now - iterationStartTime);
+            iterations.add(iteration);
+            control.reportIteration(iteration);
+            iterationStartTime = now;
+
+            // search the best move of this iteration first in the next one
+            rootMoves.remove(iterationMove);
+            rootMoves.add(0, iterationMove);
+            if (Math.abs(iterationMove.value) >= SearchWorker.MATE_BOUND) break;
+        }
+
+        final SearchStats.Builder builder = new SearchStats.Builder()
+                .setNodes(control.getNodeCount())
+                .setTimeMillis(System.currentTimeMillis() - startTime)
+                .setThreadCount(this.pool == null ? 1 : this.pool.getParallelism())
+                .setIterations(iterations);
+        for (RootMove rootMove : rootMoves) builder.addWorker(rootMove.worker);
+        final SearchStats stats = builder.build();
+        if (bestMove == null) return new SearchResult(new NullMove(), stats, Collections.emptyList());
+        return new SearchResult(bestMove, stats, Collections.singletonList(
+                new CandidateMove(bestMove, stats.getScore(), stats.getPrincipalVariation())));
+    }
+
+    /**
+     * Search all root moves to a given depth
+     *
+     * @param rootMoves   legal root moves, in the order they should be searched
+     * @param depth       of the search
+     * @param control     of the search
+     * @param stopAllowed false if the iteration may not be interrupted
+     * @return best root move, with its value set, or null if the iteration was stopped
+     */
+    private RootMove searchIteration(List<RootMove> rootMoves, int depth, SearchControl control, boolean stopAllowed) {
+        final RootMove firstMove = rootMoves.get(0);
+        int alpha = firstMove.search(depth, -SearchWorker.INFINITE_SCORE, SearchWorker.INFINITE_SCORE, control, stopAllowed);
+        if (firstMove.worker.isSearchStopped()) return null;
+        RootMove bestMove = firstMove;
+
+        // prove that the other moves are not better than the first one, in parallel if there is a pool
+        final int bound = alpha;
+        final List<NullWindowTask> tasks = new ArrayList<>(rootMoves.size() - 1);
+        for (RootMove rootMove : rootMoves.subList(1, rootMoves.size())) {
+            final NullWindowTask task = new NullWindowTask(rootMove, depth, bound, control, stopAllowed);
+            tasks.add(task);
+            if (this.pool != null) this.pool.submit(task);
+        }
+        final int[] nullWindowValues = new int[tasks.size()];
+        boolean stopped = false;
+        for (int i = 0; i < tasks.size(); i++) {
+            nullWindowValues[i] = this.pool != null ? tasks.get(i).join() : tasks.get(i).invoke();
+            stopped |= rootMoves.get(i + 1).worker.isSearchStopped();
+        }
+        if (stopped) return null;
+
+        // search the moves that failed high again, in order, so the result does not depend on the thread timing
+        for (int i = 0; i < nullWindowValues.length; i++) {
+            final RootMove rootMove = rootMoves.get(i + 1);
+            int value = nullWindowValues[i];
+            if (value > bound) {
+                value = rootMove.search(depth, alpha, SearchWorker.INFINITE_SCORE, control, stopAllowed);
+                if (rootMove.worker.isSearchStopped()) return null;
+                if (value > alpha) {
+                    alpha = value;
+                    bestMove = rootMove;
+                }
+            }
+        }
+        bestMove.value = alpha;
+        return bestMove;
+    }
+
+    /**
+     * Make every legal move of the current player, and give each one its own search worker
+     *
+     * @param board       to generate move for
+     * @param gameHistory Zobrist hashes of the positions played in the game, oldest first
+     * @return legal root moves in the order of the sequential search
+     */
+    private List<RootMove> createRootMoves(Board board, long[] gameHistory) {
+        final SearchWorker orderWorker = new SearchWorker(0, new RegularBoardEvaluator(this.usePieceSquareBoards),
+                new TranspositionTable(ROOT_MOVE_HASH_SIZE), this.maxQuiescence);
+        final List<RootMove> rootMoves = new ArrayList<>();
+        for (Move move : orderWorker.orderRootMoves(board)) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                final SearchWorker worker = new SearchWorker(0, new RegularBoardEvaluator(this.usePieceSquareBoards),
+                        new TranspositionTable(ROOT_MOVE_HASH_SIZE), this.maxQuiescence);
+                worker.setGameHistory(gameHistory, board);
+                rootMoves.add(new RootMove(move, moveTransition.getTransitionBoard(), worker));
+            }
+        }
+        return rootMoves;
+    }
+
+    /**
+     * A legal root move, the board after it and the worker that searches it
+     */
+    private static final class RootMove {
+        private final Move move;
+        private final Board childBoard;
+        private final SearchWorker worker;
+        private int value;
+
+        private RootMove(Move move, Board childBoard, SearchWorker worker) {
+            this.move = move;
+            this.childBoard = childBoard;
+            this.worker = worker;
+        }
+
+        private int search(int depth, int alpha, int beta, SearchControl control, boolean stopAllowed) {
+            return this.worker.searchRootMove(this.childBoard, depth, alpha, beta, control, stopAllowed);
+        }
+    }
+
+    /**
+     * Task that searches a root move with a null window around a bound
+     */
+    private static final class NullWindowTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private final RootMove rootMove;
+        private final int depth;
+        private final int bound;
+        private final SearchControl control;
+        private final boolean stopAllowed;
+
+        private NullWindowTask(RootMove rootMove, int depth, int bound, SearchControl control, boolean stopAllowed) {
+            this.rootMove = rootMove;
+            this.depth = depth;
+            this.bound = bound;
+            this.control = control;
+            this.stopAllowed = stopAllowed;
+        }
+
+        @Override
+        protected Integer compute() {
+            return this.rootMove.search(this.depth, this.bound, this.bound + 1, this.control, this.stopAllowed);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package player.basicAI;
+
+import board.Board;
+import board.FenUtils;
+
+/**
+ * Benchmark of the MiniMax search on a fixed suite of positions, for comparing search settings.
+ * Every position is searched by a new single threaded strategy, so that the results do not depend on earlier searches.
+ * Run the main method with the search depth as the optional first argument.
+ */
+public final class SearchBenchmark {
+    private static final int DEFAULT_DEPTH = 4;
+    static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1",
+            "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r1b1k2r/ppppnppp/2n2q2/2b5/3NP3/2P1B3/PP3PPP/RN1QKB1R w KQkq - 0 1",
+            "r5k1/5Npp/8/8/2Q5/8/8/6K1 w - - 0 1",
+            "8/2k5/8/8/3K4/8/4P3/8 w - - 0 1"
+    };
+
+    private SearchBenchmark() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    public static void main(String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DEPTH;
+        for (InternalIteration internalIteration : InternalIteration.values()) {
+            System.out.println("INTERNAL ITERATION: " + internalIteration);
+            long totalNodes = 0, totalTime = 0;
+            for (String fen : POSITIONS) {
+                final SearchResult result = search(fen, depth, internalIteration);
+                totalNodes += result.getStats().getNodes();
+                totalTime += result.getStats().getTimeMillis();
+                System.out.println(result.getBestMove() + " " + result.getStats());
+            }
+            System.out.println("TOTAL: " + totalNodes + " nodes in " + totalTime + "ms\n");
+        }
+    }
+
+    /**
+     * Search a position of the suite
+     *
+     * @param fen               of the position
+     * @param depth             of the search (plys)
+     * @param internalIteration setting of the search
+     * @return result of the search
+     */
+    static SearchResult search(String fen, int depth, InternalIteration internalIteration) {
+        final Board board = FenUtils.createBoardFromFen(fen);
+        final MiniMax strategy = new MiniMax(depth, 1000, true, false);
+        strategy.setInternalIteration(internalIteration);
+        return strategy.search(board, SearchLimits.depth(depth));
+    }
+}
@@ -0,0 +1,135 @@
+package player.basicAI;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits and stop signal of one search, shared by all threads searching the same position.
+ * Threads report the nodes they visit in batches, and the search is stopped as soon as the
+ * node count or the time runs over the limits, or when the main thread is done.
+ * The limits may be replaced while the search is running, which turns a ponder search into a normal one.
+ */
+final class SearchControl {
+    private volatile int maxDepth;
+    private volatile long deadline;
+    private volatile long maxNodes;
+    private volatile int multiPv;
+    private final AtomicLong nodeCount = new AtomicLong();
+    private volatile boolean stopped;
+    private volatile boolean cancelled;
+    private final long startTime;
+    private final SearchListener listener;
+
+    /**
+     * Construct a search control
+     *
+     * @param limits    of the search
+     * @param startTime of the search, in milliseconds
+     */
+    SearchControl(SearchLimits limits, long startTime) {
+        this(limits, startTime, null);
+    }
+
+    /**
+     * Construct a search control that reports the progress of the search
+     *
+     * @param limits    of the search
+     * @param startTime of the search, in milliseconds
+     * @param listener  told about every completed iteration, may be null
+     */
+    SearchControl(SearchLimits limits, long startTime, SearchListener listener) {
+        this.startTime = startTime;
+        this.listener = listener;
+        setLimits(limits, startTime);
+    }
+
+    /**
+     * @return start time of the search, in milliseconds
+     */
+    long getStartTime() {
+        return this.startTime;
+    }
+
+    /**
+     * Report a completed iteration to the listener of the search
+     *
+     * @param iteration that was completed
+     */
+    void reportIteration(SearchIteration iteration) {
+        if (this.listener != null) this.listener.onIteration(iteration);
+    }
+
+    /**
+     * Replace the limits of the search. The time and nodes of the new limits are counted from now on,
+     * not from the start of the search.
+     *
+     * @param limits    of the search
+     * @param startTime of the new limits, in milliseconds
+     */
+    void setLimits(SearchLimits limits, long startTime) {
+        this.maxDepth = limits.getMaxDepth();
+        this.deadline = limits.getMoveTime() > 0 ? startTime + limits.getMoveTime() : Long.MAX_VALUE;
+        this.maxNodes = limits.getMaxNodes() > 0 ? this.nodeCount.get() + limits.getMaxNodes() : Long.MAX_VALUE;
+        this.multiPv = limits.getMultiPv();
+    }
+
+    /**
+     * @return number of best moves the search should find, read when a search starts
+     */
+    int getMultiPv() {
+        return this.multiPv;
+    }
+
+    /**
+     * @return maximum depth of the search (plys)
+     */
+    int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Report visited nodes, and stop the search if it has run out of nodes or time
+     *
+     * @param nodes visited since the last report
+     */
+    void addNodes(long nodes) {
+        if (this.nodeCount.addAndGet(nodes) >= this.maxNodes || System.currentTimeMillis() >= this.deadline) {
+            this.stopped = true;
+        }
+    }
+
+    /**
+     * Stop the search
+     */
+    void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Cancel the search, unlike a normal stop this also interrupts iterations that may not be interrupted otherwise
+     */
+    void cancel() {
+        this.cancelled = true;
+        this.stopped = true;
+    }
+
+    /**
+     * @return true if the search was cancelled, its result is not needed
+     */
+    boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * @return true if the search should stop as soon as possible
+     */
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * @return number of nodes reported by all threads
+     */
+    long getNodeCount() {
+        return this.nodeCount.get();
+    }
+}
@@ -0,0 +1,97 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handle of a search running in the background. The handle works like any other Future; get waits for the move
+ * the search finds, and cancel stops the search. The whole result of the search is available from getResult.
+ * A cancelled search stops at its next node, even in an iteration that may otherwise not be interrupted, so the
+ * thread running it is free again almost immediately. Every handle has its own cancellation token, so cancelling
+ * a handle never stops another search of the same strategy.
+ */
+public final class SearchHandle implements Future<Move> {
+    private final CancellationToken token = new CancellationToken();
+    private final FutureTask<SearchResult> task;
+
+    private SearchHandle(MoveStrategy strategy, Board board, SearchLimits limits) {
+        this.task = new FutureTask<>(() -> strategy.search(board, limits, this.token));
+    }
+
+    /**
+     * Start a search on a new background thread
+     *
+     * @param strategy to search with, should not be searching already
+     * @param board    to generate move for
+     * @param limits   depth, time and node limits of the search
+     * @return handle of the running search
+     */
+    static SearchHandle start(MoveStrategy strategy, Board board, SearchLimits limits) {
+        final SearchHandle handle = new SearchHandle(strategy, board, limits);
+        final Thread thread = new Thread(handle.task, strategy + " search");
+        thread.setDaemon(true);
+        thread.start();
+        return handle;
+    }
+
+    /**
+     * Cancel the search of this handle. Other searches of the strategy, like a ponder search or the search of another
+     * handle, keep running. A search that is still waiting for another search of the strategy never starts.
+     *
+     * @param mayInterruptIfRunning ignored, the search is always stopped
+     * @return false if the search had already completed or was cancelled before, true otherwise
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final boolean cancelled = this.task.cancel(false);
+        if (cancelled) this.token.cancel();
+        return cancelled;
+    }
+
+    /**
+     * Cancel the search
+     *
+     * @return false if the search had already completed or was cancelled before, true otherwise
+     */
+    public boolean cancel() {
+        return cancel(true);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return this.task.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.task.isDone();
+    }
+
+    @Override
+    public Move get() throws InterruptedException, ExecutionException {
+        return this.task.get().getBestMove();
+    }
+
+    @Override
+    public Move get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return this.task.get(timeout, unit).getBestMove();
+    }
+
+    /**
+     * Waits for the search to finish
+     *
+     * @return the best move, principal variation and statistics of the search
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     * @throws ExecutionException   if the search threw an exception
+     * @throws java.util.concurrent.CancellationException if the search was cancelled
+     */
+    public SearchResult getResult() throws InterruptedException, ExecutionException {
+        return this.task.get();
+    }
+}
@@ -0,0 +1,94 @@
+package player.basicAI;
+
+import board.Move;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of one completed iteration of an iteratively deepened search
+ */
+public final class SearchIteration {
+    private final int depth;
+    private final int score;
+    private final List<Move> principalVariation;
+    private final long nodes;
+    private final long timeMillis;
+    private final long iterationTimeMillis;
+
+    /**
+     * Construct an iteration result
+     *
+     * @param depth               of the iteration (plys)
+     * @param score               of the best move, from the view of the player to move
+     * @param principalVariation  best line found, starting with the best move
+     * @param nodes               visited by the search up to the end of this iteration
+     * @param timeMillis          since the start of the search
+     * @param iterationTimeMillis spent on this iteration only
+     */
+    SearchIteration(int depth, int score, List<Move> principalVariation, long nodes, long timeMillis, long iterationTimeMillis) {
+        this.depth = depth;
+        this.score = score;
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+        this.nodes = nodes;
+        this.timeMillis = timeMillis;
+        this.iterationTimeMillis = iterationTimeMillis;
+    }
+
+    /**
+     * @return depth of the iteration (plys)
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * @return score of the best move in centipawns, from the view of the player to move
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * @return best move of the iteration
+     */
+    public Move getBestMove() {
+        return this.principalVariation.get(0);
+    }
+
+    /**
+     * @return the line both players are expected to play, starting with the best move
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    /**
+     * @return nodes visited by the search up to the end of this iteration, by all threads
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return milliseconds from the start of the search to the end of this iteration
+     */
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    /**
+     * @return milliseconds spent on this iteration only
+     */
+    public long getIterationTimeMillis() {
+        return this.iterationTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (Move move : this.principalVariation) builder.append(' ').append(move);
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes +
+                " time " + this.timeMillis + "ms pv" + builder;
+    }
+}
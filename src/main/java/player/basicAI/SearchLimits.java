@@ -0,0 +1,150 @@
+package player.basicAI;
+
+/**
+ * Limits for a single search of a move strategy. A search stops at whichever limit it reaches first;
+ * the maximum depth, the time spent on the move or the number of nodes visited.
+ * A time or node limit of 0 means that the search is not limited by it.
+ * The limits also set how many of the best moves the search should find (multi-PV), only the best one by default.
+ */
+public final class SearchLimits {
+    public static final int MAX_DEPTH = 63;
+
+    private final int maxDepth;
+    private final long moveTime;
+    private final long maxNodes;
+    private final int multiPv;
+
+    private SearchLimits(Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.moveTime = builder.moveTime;
+        this.maxNodes = builder.maxNodes;
+        this.multiPv = builder.multiPv;
+    }
+
+    /**
+     * Creates limits that only bound the depth of the search
+     *
+     * @param depth maximum depth of the search (plys)
+     * @return limits with the given depth
+     */
+    public static SearchLimits depth(int depth) {
+        return new Builder().setMaxDepth(depth).build();
+    }
+
+    /**
+     * Creates limits that only bound the time spent on the search
+     *
+     * @param milliseconds maximum time of the search
+     * @return limits with the given time
+     */
+    public static SearchLimits moveTime(long milliseconds) {
+        return new Builder().setMoveTime(milliseconds).build();
+    }
+
+    /**
+     * @return maximum depth of the search (plys)
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * @return maximum time of the search in milliseconds, 0 if unlimited
+     */
+    public long getMoveTime() {
+        return this.moveTime;
+    }
+
+    /**
+     * @return maximum number of nodes visited by the search, 0 if unlimited
+     */
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * @return number of best moves the search should find
+     */
+    public int getMultiPv() {
+        return this.multiPv;
+    }
+
+    /**
+     * @return true if the search is limited by time or nodes, and not only by depth
+     */
+    public boolean hasBudget() {
+        return this.moveTime > 0 || this.maxNodes > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.maxDepth +
+                (this.moveTime > 0 ? ", time " + this.moveTime + "ms" : "") +
+                (this.maxNodes > 0 ? ", nodes " + this.maxNodes : "") +
+                (this.multiPv > 1 ? ", lines " + this.multiPv : "");
+    }
+
+    /**
+     * Builder for SearchLimits, every limit that is not set is unlimited
+     */
+    public static class Builder {
+        int maxDepth = MAX_DEPTH;
+        long moveTime = 0;
+        long maxNodes = 0;
+        int multiPv = 1;
+
+        /**
+         * Set the maximum depth of the search
+         * @param maxDepth in plys, between 1 and MAX_DEPTH
+         * @return Builder with this setting
+         */
+        public Builder setMaxDepth(int maxDepth) {
+            if (maxDepth < 1 || maxDepth > MAX_DEPTH) throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH);
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Set the maximum time of the search
+         * @param moveTime in milliseconds, 0 for unlimited
+         * @return Builder with this setting
+         */
+        public Builder setMoveTime(long moveTime) {
+            if (moveTime < 0) throw new IllegalArgumentException("Move time can not be negative");
+            this.moveTime = moveTime;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of nodes visited by the search
+         * @param maxNodes node count, 0 for unlimited
+         * @return Builder with this setting
+         */
+        public Builder setMaxNodes(long maxNodes) {
+            if (maxNodes < 0) throw new IllegalArgumentException("Node count can not be negative");
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Set how many of the best moves the search should find. The lines are searched one after the other in every
+         * iteration, each time without the moves found before, so every candidate gets an exact score. The lines
+         * share the transposition table, which makes them far cheaper than a search for every candidate.
+         * Strategies that do not support multi-PV only find the best move.
+         * @param multiPv number of lines, at least 1
+         * @return Builder with this setting
+         */
+        public Builder setMultiPv(int multiPv) {
+            if (multiPv < 1) throw new IllegalArgumentException("At least one line is needed to search");
+            this.multiPv = multiPv;
+            return this;
+        }
+
+        /**
+         * @return SearchLimits with the settings of this builder
+         */
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package player.basicAI;
+
+/**
+ * Listener for the progress of a search. The methods are called on the thread that runs the search,
+ * so a listener should return quickly and hand any heavy work over to another thread.
+ */
+public interface SearchListener {
+
+    /**
+     * Called every time the search completes an iteration
+     * @param iteration result of the completed iteration
+     */
+    void onIteration(SearchIteration iteration);
+
+    /**
+     * Called once when the search is done
+     * @param stats statistics of the whole search
+     */
+    default void onSearchFinished(SearchStats stats) {
+    }
+
+}
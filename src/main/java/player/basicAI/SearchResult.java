@@ -0,0 +1,83 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static board.Move.NullMove;
+
+/**
+ * Result of a search; the best move found and the line the search expects to follow it, the other candidate moves
+ * of a multi-PV search, together with the statistics of the search
+ */
+public final class SearchResult {
+    private final Move bestMove;
+    private final SearchStats stats;
+    private final List<CandidateMove> candidateMoves;
+
+    SearchResult(Move bestMove, SearchStats stats, List<CandidateMove> candidateMoves) {
+        this.bestMove = bestMove;
+        this.stats = stats;
+        this.candidateMoves = Collections.unmodifiableList(candidateMoves);
+    }
+
+    /**
+     * @return result of a search that found no move, or did not run
+     */
+    static SearchResult empty() {
+        return new SearchResult(new NullMove(), new SearchStats.Builder().build(), Collections.emptyList());
+    }
+
+    /**
+     * A move can only be made on the board it was generated on, so a result found on another board of the same
+     * position, such as the board of a ponder search, has to be moved to the board of the caller
+     *
+     * @param board of the same position as the searched board
+     * @return this result with the best move and the candidate moves made on the given board
+     */
+    SearchResult onBoard(Board board) {
+        final Collection<Move> legalMoves = board.currentPlayer().getLegalMoves();
+        final List<CandidateMove> boardCandidates = new ArrayList<>(this.candidateMoves.size());
+        for (CandidateMove candidate : this.candidateMoves) {
+            boardCandidates.add(new CandidateMove(MoveCodes.find(legalMoves, MoveCodes.encode(candidate.getMove())),
+                    candidate.getScore(), candidate.getPrincipalVariation()));
+        }
+        final Move boardMove = this.bestMove instanceof NullMove ? this.bestMove :
+                MoveCodes.find(legalMoves, MoveCodes.encode(this.bestMove));
+        return new SearchResult(boardMove, this.stats, boardCandidates);
+    }
+
+    /**
+     * @return best move found, a null move if the search found none
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * @return the line both players are expected to play, starting with the best move;
+     * empty if the search found no move
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.stats.getPrincipalVariation();
+    }
+
+    /**
+     * @return the best moves found with their scores and lines, best first; as many as the strategy was asked
+     * to search if it supports multi-PV, otherwise only the best move. Empty if the search found no move
+     */
+    public List<CandidateMove> getCandidateMoves() {
+        return this.candidateMoves;
+    }
+
+    /**
+     * @return statistics of the search
+     */
+    public SearchStats getStats() {
+        return this.stats;
+    }
+}
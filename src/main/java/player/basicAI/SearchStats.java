@@ -0,0 +1,225 @@
+package player.basicAI;
+
+import board.Move;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Statistics of a finished search, summed over all threads that took part in it.
+ * The counters of the transposition table and cutoffs are only counted in the main search,
+ * not in the quiescence search.
+ */
+public final class SearchStats {
+    private final long nodes;
+    private final long quiescenceNodes;
+    private final long timeMillis;
+    private final long hashProbes;
+    private final long hashHits;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+    private final long aspirationResearches;
+    private final int threadCount;
+    private final List<SearchIteration> iterations;
+
+    private SearchStats(Builder builder) {
+        this.nodes = builder.nodes;
+        this.quiescenceNodes = builder.quiescenceNodes;
+        this.timeMillis = builder.timeMillis;
+        this.hashProbes = builder.hashProbes;
+        this.hashHits = builder.hashHits;
+        this.betaCutoffs = builder.betaCutoffs;
+        this.firstMoveCutoffs = builder.firstMoveCutoffs;
+        this.aspirationResearches = builder.aspirationResearches;
+        this.threadCount = builder.threadCount;
+        this.iterations = Collections.unmodifiableList(new ArrayList<>(builder.iterations));
+    }
+
+    /**
+     * @return nodes visited by the search, including quiescence nodes
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * @return nodes visited by the quiescence search
+     */
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    /**
+     * @return milliseconds spent on the search
+     */
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    /**
+     * @return nodes visited per second
+     */
+    public long getNodesPerSecond() {
+        return this.nodes * 1000 / Math.max(1, this.timeMillis);
+    }
+
+    /**
+     * @return number of transposition table lookups
+     */
+    public long getHashProbes() {
+        return this.hashProbes;
+    }
+
+    /**
+     * @return number of transposition table lookups that found the position
+     */
+    public long getHashHits() {
+        return this.hashHits;
+    }
+
+    /**
+     * @return share of the transposition table lookups that found the position, between 0 and 1
+     */
+    public double getHashHitRate() {
+        return this.hashProbes == 0 ? 0 : (double) this.hashHits / this.hashProbes;
+    }
+
+    /**
+     * @return number of nodes where a move failed high
+     */
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    /**
+     * The share of the cutoffs caused by the first move searched, a measure of the move ordering
+     *
+     * @return first move cutoffs divided by all cutoffs, between 0 and 1
+     */
+    public double getFirstMoveCutoffRate() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    /**
+     * @return number of root searches that were repeated because the score fell outside the aspiration window
+     */
+    public long getAspirationResearches() {
+        return this.aspirationResearches;
+    }
+
+    /**
+     * @return number of threads that searched
+     */
+    public int getThreadCount() {
+        return this.threadCount;
+    }
+
+    /**
+     * The effective branching factor; how many times more nodes the last iteration took than the one before it
+     *
+     * @return nodes of the last iteration divided by the nodes of the iteration before it, 0 if there are not enough iterations
+     */
+    public double getEffectiveBranchingFactor() {
+        final int size = this.iterations.size();
+        if (size < 2) return 0;
+        final long lastNodes = this.iterations.get(size - 1).getNodes() - this.iterations.get(size - 2).getNodes();
+        final long previousNodes = this.iterations.get(size - 2).getNodes() - (size > 2 ? this.iterations.get(size - 3).getNodes() : 0);
+        return previousNodes == 0 ? 0 : (double) lastNodes / previousNodes;
+    }
+
+    /**
+     * @return every completed iteration, in order of depth
+     */
+    public List<SearchIteration> getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * @return depth of the deepest completed iteration, 0 if no iteration was completed
+     */
+    public int getDepth() {
+        return this.iterations.isEmpty() ? 0 : lastIteration().getDepth();
+    }
+
+    /**
+     * @return score of the deepest completed iteration, from the view of the player to move
+     */
+    public int getScore() {
+        return this.iterations.isEmpty() ? 0 : lastIteration().getScore();
+    }
+
+    /**
+     * @return principal variation of the deepest completed iteration, empty if no iteration was completed
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.iterations.isEmpty() ? Collections.emptyList() : lastIteration().getPrincipalVariation();
+    }
+
+    private SearchIteration lastIteration() {
+        return this.iterations.get(this.iterations.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d, %d nodes (%d quiescence) in %dms, %d nodes/s, %d threads, " +
+                        "hash hits %.1f%%, first move cutoffs %.1f%%, branching factor %.2f, aspiration re-searches %d",
+                getDepth(), this.nodes, this.quiescenceNodes, this.timeMillis, getNodesPerSecond(), this.threadCount,
+                getHashHitRate() * 100, getFirstMoveCutoffRate() * 100, getEffectiveBranchingFactor(), this.aspirationResearches);
+    }
+
+    /**
+     * Builder for SearchStats, the counters of every thread are added up
+     */
+    static class Builder {
+        long nodes;
+        long quiescenceNodes;
+        long timeMillis;
+        long hashProbes;
+        long hashHits;
+        long betaCutoffs;
+        long firstMoveCutoffs;
+        long aspirationResearches;
+        int threadCount = 1;
+        List<SearchIteration> iterations = Collections.emptyList();
+
+        Builder setNodes(long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        Builder setTimeMillis(long timeMillis) {
+            this.timeMillis = timeMillis;
+            return this;
+        }
+
+        Builder setThreadCount(int threadCount) {
+            this.threadCount = threadCount;
+            return this;
+        }
+
+        Builder setIterations(List<SearchIteration> iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Add the counters of a worker that took part in the search
+         * @param worker that searched
+         * @return Builder with the counters added
+         */
+        Builder addWorker(SearchWorker worker) {
+            this.quiescenceNodes += worker.getQuiescenceNodeCount();
+            this.hashProbes += worker.getHashProbeCount();
+            this.hashHits += worker.getHashHitCount();
+            this.betaCutoffs += worker.getBetaCutoffCount();
+            this.firstMoveCutoffs += worker.getFirstMoveCutoffCount();
+            this.aspirationResearches += worker.getAspirationResearchCount();
+            return this;
+        }
+
+        SearchStats build() {
+            return new SearchStats(this);
+        }
+    }
+}
@@ -0,0 +1,1008 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+import pieces.Alliance;
+import pieces.Piece;
+import player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A single thread of the MiniMax search. Every worker has its own evaluator, killer moves and history table,
+ * while the transposition table and the search control are shared between all workers of a strategy.
+ * The main worker (id 0) decides the result of the search; helper workers search the same root with a
+ * different depth and move order, and help the main worker through the entries they store in the shared table.
+ *
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Lazy SMP</a>
+ */
+final class SearchWorker {
+    private static final int DRAW_SCORE = 0;
+    static final int MATE_SCORE = 1000000;
+    // scores beyond this bound are mate scores, the search never gets this many plys deep
+    static final int MATE_BOUND = MATE_SCORE - 100000;
+    static final int INFINITE_SCORE = MATE_SCORE + 1;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    // a capture must be able to raise the score this close to alpha to be searched in the quiescence search
+    private static final int DELTA_MARGIN = 200;
+    // moves searched before any move is considered late
+    private static final int LATE_MOVE_THRESHOLD = 3;
+    private static final long NODE_REPORT_INTERVAL = 0xFF;
+    // how far the static evaluation may be off at a remaining depth; a minor piece at the frontier,
+    // a rook one ply before it and a queen two plys before it
+    private static final int[] FUTILITY_MARGINS = {0, Piece.PieceType.KNIGHT.getPieceValue(),
+            Piece.PieceType.ROOK.getPieceValue(), Piece.PieceType.QUEEN.getPieceValue()};
+    private static final int FUTILITY_MAX_DEPTH = FUTILITY_MARGINS.length - 1;
+    private static final int RAZOR_MAX_DEPTH = 2;
+    private static final int SINGULAR_MIN_DEPTH = 4;
+    // nodes without a hash move are reduced or deepened internally from this depth on
+    private static final int INTERNAL_ITERATION_MIN_DEPTH = 4;
+    private static final int INTERNAL_DEEPENING_REDUCTION = 2;
+    // the hash move is singular if every other move scores this far below it
+    private static final int SINGULAR_MARGIN = Piece.PieceType.PAWN.getPieceValue() / 2;
+    // iterations below this depth are searched with an infinite window, their scores are too unstable
+    private static final int ASPIRATION_MIN_DEPTH = 4;
+    // distance of the first aspiration window bounds from the score of the previous iteration
+    private static final int ASPIRATION_WINDOW = 50;
+    private final int id;
+    private final BoardEvaluator boardEvaluator;
+    private final TranspositionTable transpositionTable;
+    private final KillerMoves killerMoves = new KillerMoves();
+    private final HistoryTable historyTable = new HistoryTable();
+    private final PositionHistory positionHistory = new PositionHistory();
+    private final PrincipalVariationTable principalVariationTable = new PrincipalVariationTable();
+    // plys the current line has been extended by, indexed by ply
+    private final int[] lineExtensions = new int[KillerMoves.MAX_PLY + 1];
+    // plys the current line may look back for a repetition, indexed by ply
+    private final int[] repetitionWindows = new int[KillerMoves.MAX_PLY + 1];
+    private final int maxQuiescence;
+    private SearchControl control;
+    private volatile InternalIteration internalIteration = InternalIteration.DEEPENING;
+    private long quiescenceNodeCount;
+    private long nodeCount;
+    private long aspirationResearchCount;
+    private long hashProbeCount;
+    private long hashHitCount;
+    private long betaCutoffCount;
+    private long firstMoveCutoffCount;
+    private final List<SearchIteration> iterations = new ArrayList<>();
+    private List<CandidateMove> candidateMoves = Collections.emptyList();
+    // hashes of the positions along the line expected by the last search, one for every ply after its root
+    private long[] expectedLineHashes = new long[0];
+    private boolean stopAllowed;
+    private int iterationDepth;
+    private boolean searchStopped;
+    private int rootValue;
+
+    /**
+     * Construct a search worker
+     *
+     * @param id                 of the worker, 0 for the main worker
+     * @param boardEvaluator     used by this worker only
+     * @param transpositionTable shared with the other workers
+     * @param maxQuiescence      maximum depth of the quiescence search (plys)
+     */
+    SearchWorker(int id, BoardEvaluator boardEvaluator, TranspositionTable transpositionTable, int maxQuiescence) {
+        this.id = id;
+        this.boardEvaluator = boardEvaluator;
+        this.transpositionTable = transpositionTable;
+        this.maxQuiescence = maxQuiescence;
+        // the root is never searched after a null move, only the halfmove clock limits the window of its children
+        this.repetitionWindows[0] = Integer.MAX_VALUE - 1;
+    }
+
+    /**
+     * Search the board with iterative deepening; depth 1, 2, 3 and so on are searched until the maximum depth
+     * is reached or the search control is stopped. The first iteration of the main worker can not be interrupted,
+     * so that a move is found even with a very small budget. Helper workers start one ply deeper every other worker,
+     * and search the root moves in a rotated order.
+     * The main worker records every completed iteration, and reports it to the listener of the search control.
+     * With multi-PV set in the limits, the main worker searches that many of the best lines in every iteration.
+     * The maximum depth is read from the search control before every iteration, as it may change while searching.
+     * If the board is a position on the line expected by the previous search of this worker, the killer moves and
+     * the rest of that line are kept for the new search, moved to the plys they belong to now. The history table is
+     * aged and the transposition table is kept, so the subtree of the expected line is mostly searched already.
+     *
+     * @param board   to generate move for
+     * @param control shared between the workers of the search
+     * @return best move of the deepest completed iteration, or null if no iteration was completed
+     * @see <a href="https://www.chessprogramming.org/Iterative_Deepening">Iterative Deepening</a>
+     */
+    Move iterativeDeepening(Board board, SearchControl control) {
+        this.control = control;
+        this.nodeCount = 0;
+        this.quiescenceNodeCount = 0;
+        this.aspirationResearchCount = 0;
+        this.hashProbeCount = 0;
+        this.hashHitCount = 0;
+        this.betaCutoffCount = 0;
+        this.firstMoveCutoffCount = 0;
+        this.iterations.clear();
+        this.candidateMoves = Collections.emptyList();
+        this.searchStopped = false;
+        final int followedPlys = followedPlys(board);
+        if (followedPlys > 0) {
+            this.killerMoves.shift(followedPlys);
+            this.principalVariationTable.shiftPrevious(followedPlys);
+        } else {
+            this.killerMoves.clear();
+            this.principalVariationTable.clearPrevious();
+        }
+        this.historyTable.age();
+        long iterationStartTime = System.currentTimeMillis();
+
+        Move bestMove = null;
+        final int lineCount = this.id == 0 ? control.getMultiPv() : 1;
+        final List<Move> rootMoves = orderRootMoves(board);
+        if (this.id > 0 && rootMoves.size() > 2) Collections.rotate(rootMoves.subList(1, rootMoves.size()), this.id);
+        for (int depth = 1 + this.id % 2; depth <= control.getMaxDepth(); depth++) {
+            this.iterationDepth = depth;
+            // the first iteration of the main worker may not be interrupted, it is the fallback result of the search
+            this.stopAllowed = this.id > 0 || depth > 1;
+
+            final List<CandidateMove> iterationMoves = searchLines(board, rootMoves, depth, lineCount);
+            if (this.searchStopped || iterationMoves.isEmpty()) break;
+            this.candidateMoves = iterationMoves;
+            bestMove = iterationMoves.get(0).getMove();
+            this.rootValue = iterationMoves.get(0).getScore();
+            if (this.id == 0) {
+                final long now = System.currentTimeMillis();
+                final SearchIteration iteration = new SearchIteration(depth, this.rootValue,
+                        iterationMoves.get(0).getPrincipalVariation(), this.control.getNodeCount() + (this.nodeCount & NODE_REPORT_INTERVAL),
+                        now - this.control.getStartTime(), now - iterationStartTime);
+                this.iterations.add(iteration);
+                this.control.reportIteration(iteration);
+                iterationStartTime = now;
+            }
+
+            // a mate found at this depth is the shortest one, searching deeper will not change it
+            if (Math.abs(this.rootValue) >= MATE_BOUND) break;
+        }
+        this.control.addNodes(this.nodeCount & NODE_REPORT_INTERVAL);
+        this.expectedLineHashes = bestMove == null ? new long[0] : expectedLineHashes(board);
+        return bestMove;
+    }
+
+    /**
+     * Find how far a board is along the line expected by the previous search
+     *
+     * @param board the next search starts from
+     * @return number of plys from the root of the previous search to the board, or 0 if the board is not on its line
+     */
+    private int followedPlys(Board board) {
+        for (int i = 0; i < this.expectedLineHashes.length; i++) {
+            if (this.expectedLineHashes[i] == board.getZobristHash()) return i + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Play the line of the last completed iteration
+     *
+     * @param board the search started from
+     * @return hashes of the positions along the line, one for every ply after the board
+     */
+    private long[] expectedLineHashes(Board board) {
+        final long[] hashes = new long[KillerMoves.MAX_PLY];
+        int length = 0;
+        Move move = MoveCodes.find(board.currentPlayer().getLegalMoves(), this.principalVariationTable.previousLineMove(0));
+        while (move != null && length < hashes.length) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) break;
+            board = moveTransition.getTransitionBoard();
+            hashes[length++] = board.getZobristHash();
+            move = MoveCodes.find(board.currentPlayer().getLegalMoves(), this.principalVariationTable.previousLineMove(length));
+        }
+        return Arrays.copyOf(hashes, length);
+    }
+
+    /**
+     * Search the board after a root move to a given depth. Used to search the root moves as independent tasks,
+     * the result only depends on the arguments and on earlier searches by this worker.
+     * The worker should only search one root move, as the line found by a search is followed by the next one.
+     *
+     * @param childBoard  board after the root move
+     * @param depth       of the search, including the root move
+     * @param alpha       lowest score the player making the root move is already guaranteed
+     * @param beta        highest score the opponent allows
+     * @param control     shared between the tasks of the search
+     * @param stopAllowed false if the search may not be interrupted
+     * @return score of the root move for the player making it; meaningless if the search was stopped
+     */
+    int searchRootMove(Board childBoard, int depth, int alpha, int beta, SearchControl control, boolean stopAllowed) {
+        this.control = control;
+        this.nodeCount = 0;
+        this.searchStopped = false;
+        this.stopAllowed = stopAllowed;
+        this.iterationDepth = depth;
+        this.principalVariationTable.startSearch(1);
+        final int value = -search(childBoard, depth - 1, 1, -beta, -alpha, true, beta - alpha == 1);
+        this.control.addNodes(this.nodeCount & NODE_REPORT_INTERVAL);
+        // only a score inside the window comes with a complete line, to be followed by the next search of the move
+        if (!this.searchStopped && value > alpha && value < beta) this.principalVariationTable.savePrevious(1);
+        return value;
+    }
+
+    /**
+     * Set the positions played in the game before the root of the next search, positions of the search that repeat
+     * one of them are scored as draws
+     *
+     * @param gameHashes Zobrist hashes of the positions played in the game, oldest first, may end with the root
+     * @param root       board the next search starts from
+     */
+    void setGameHistory(long[] gameHashes, Board root) {
+        this.positionHistory.seed(gameHashes, root);
+    }
+
+    /**
+     * Set what the search does at nodes without a hash move, takes effect at the next node
+     *
+     * @param internalIteration setting to use
+     */
+    void setInternalIteration(InternalIteration internalIteration) {
+        this.internalIteration = internalIteration;
+    }
+
+    /**
+     * @return true if the last search of this worker was stopped before it was completed
+     */
+    boolean isSearchStopped() {
+        return this.searchStopped;
+    }
+
+    /**
+     * Find the line both players are expected to play after the best move of the last completed search.
+     * The line is taken from the principal variation table, and where it was cut short by a transposition table
+     * cutoff, it is continued by following the best moves stored in the transposition table.
+     * The line ends at a position that is not in the table, or at a repeated position.
+     *
+     * @param board    the last search started from
+     * @param bestMove first move of the line
+     * @param length   maximum number of moves in the line
+     * @return the principal variation, starting with the best move
+     */
+    List<Move> principalVariation(Board board, Move bestMove, int length) {
+        final List<Move> principalVariation = new ArrayList<>();
+        final Set<Long> visited = new HashSet<>();
+        Move move = bestMove;
+        while (move != null && principalVariation.size() < length && visited.add(board.getZobristHash())) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) break;
+            principalVariation.add(move);
+            board = moveTransition.getTransitionBoard();
+            final int lineMoveCode = this.principalVariationTable.previousLineMove(principalVariation.size());
+            final Move lineMove = MoveCodes.find(board.currentPlayer().getLegalMoves(), lineMoveCode);
+            move = lineMove != null ? lineMove : predictMove(board);
+        }
+        return principalVariation;
+    }
+
+    /**
+     * Predict the move the player to move will make, from the best move stored in the transposition table
+     *
+     * @param board to predict the move on
+     * @return the predicted move, or null if the position has not been searched
+     */
+    Move predictMove(Board board) {
+        final int moveCode = TranspositionTable.moveCode(this.transpositionTable.probe(board.getZobristHash()));
+        return MoveCodes.find(board.currentPlayer().getLegalMoves(), moveCode);
+    }
+
+    /**
+     * @return number of nodes visited by the last search of this worker
+     */
+    long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * @return number of quiescence nodes visited by the last search of this worker
+     */
+    long getQuiescenceNodeCount() {
+        return this.quiescenceNodeCount;
+    }
+
+    /**
+     * @return number of root searches that were repeated because the score fell outside the aspiration window
+     */
+    long getAspirationResearchCount() {
+        return this.aspirationResearchCount;
+    }
+
+    /**
+     * @return number of transposition table lookups in the last search of this worker
+     */
+    long getHashProbeCount() {
+        return this.hashProbeCount;
+    }
+
+    /**
+     * @return number of transposition table lookups that found the position in the last search of this worker
+     */
+    long getHashHitCount() {
+        return this.hashHitCount;
+    }
+
+    /**
+     * @return number of beta cutoffs in the last search of this worker
+     */
+    long getBetaCutoffCount() {
+        return this.betaCutoffCount;
+    }
+
+    /**
+     * @return number of beta cutoffs by the first move searched in the last search of this worker
+     */
+    long getFirstMoveCutoffCount() {
+        return this.firstMoveCutoffCount;
+    }
+
+    /**
+     * @return best lines of the deepest iteration completed by the last search of this worker, best first
+     */
+    List<CandidateMove> getCandidateMoves() {
+        return this.candidateMoves;
+    }
+
+    /**
+     * @return iterations completed by the last search of this worker, only recorded by the main worker
+     */
+    List<SearchIteration> getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Search the best lines of the root one after the other (multi-PV). Every pass searches the root moves that are
+     * not the first move of an earlier line, so the best move of every pass gets an exact score, and the passes share
+     * the transposition table instead of searching each candidate from scratch. The first moves of the lines are
+     * moved to the front of the root moves in rank order, and are searched first in the next iteration, while the
+     * rest of the best line is followed as well.
+     *
+     * @param board     to generate move for
+     * @param rootMoves legal moves of the current player, in the order they should be searched
+     * @param depth     of the search
+     * @param lineCount maximum number of lines to search
+     * @return the lines found, best first; empty if the search was stopped
+     * @see <a href="https://www.chessprogramming.org/Principal_Variation#MultiPV">MultiPV</a>
+     */
+    private List<CandidateMove> searchLines(Board board, List<Move> rootMoves, int depth, int lineCount) {
+        final List<CandidateMove> lines = new ArrayList<>(lineCount);
+        int[] bestLine = null;
+        for (int lineIndex = 0; lineIndex < lineCount && lineIndex < rootMoves.size(); lineIndex++) {
+            // the window of a line is centred on the score the line had in the previous iteration
+            if (lineIndex < this.candidateMoves.size()) this.rootValue = this.candidateMoves.get(lineIndex).getScore();
+            final Move lineMove = searchAspirationWindow(board, rootMoves.subList(lineIndex, rootMoves.size()), depth);
+            if (this.searchStopped) return Collections.emptyList();
+            // the remaining root moves are illegal
+            if (lineMove == null) break;
+            this.principalVariationTable.savePrevious(0);
+            if (lineIndex == 0 && lineCount > 1) bestLine = this.principalVariationTable.copyPrevious();
+            rootMoves.remove(lineMove);
+            rootMoves.add(lineIndex, lineMove);
+            // only the main worker reports its lines
+            final List<Move> principalVariation = this.id == 0 ?
+                    principalVariation(board, lineMove, depth) : Collections.singletonList(lineMove);
+            lines.add(new CandidateMove(lineMove, this.rootValue, principalVariation));
+        }
+        if (bestLine != null) this.principalVariationTable.restorePrevious(bestLine);
+        return lines;
+    }
+
+    /**
+     * Search the root with an aspiration window; a small window around the score of the previous iteration.
+     * A narrow window cuts off more of the tree, but when the score falls outside of it the root has to be
+     * searched again with a window that is widened on the failing side, twice as far every time.
+     *
+     * @param board     to generate move for
+     * @param rootMoves legal moves of the current player, in the order they should be searched
+     * @param depth     of the search
+     * @return best move found, or null if the search was stopped before a move was found
+     * @see <a href="https://www.chessprogramming.org/Aspiration_Windows">Aspiration Windows</a>
+     */
+    private Move searchAspirationWindow(Board board, List<Move> rootMoves, int depth) {
+        if (depth < ASPIRATION_MIN_DEPTH || Math.abs(this.rootValue) >= MATE_BOUND) {
+            return searchRoot(board, rootMoves, depth, -INFINITE_SCORE, INFINITE_SCORE);
+        }
+        int delta = ASPIRATION_WINDOW;
+        int alpha = this.rootValue - delta;
+        int beta = this.rootValue + delta;
+        while (true) {
+            final Move bestMove = searchRoot(board, rootMoves, depth, alpha, beta);
+            if (this.searchStopped) return null;
+
+            if (this.rootValue <= alpha) {
+                alpha = Math.max(this.rootValue - delta, -INFINITE_SCORE);
+            } else if (this.rootValue >= beta) {
+                beta = Math.min(this.rootValue + delta, INFINITE_SCORE);
+            } else {
+                return bestMove;
+            }
+            // a mate score is far outside any window, search for it with an open bound right away
+            if (Math.abs(this.rootValue) >= MATE_BOUND) {
+                if (this.rootValue < 0) alpha = -INFINITE_SCORE;
+                else beta = INFINITE_SCORE;
+            }
+            delta *= 2;
+            this.aspirationResearchCount++;
+        }
+    }
+
+    /**
+     * Search every root move to a given depth. The first move is searched with the full window,
+     * the following moves are only searched with a null window to prove that they are not better,
+     * and are searched again with the full window if they are.
+     * Like the rest of the search, the bounds are fail-soft; the score of the root is set to the best score found,
+     * which is at most alpha if every move failed low, and at least beta if a move failed high.
+     *
+     * @param board     to generate move for
+     * @param rootMoves legal moves of the current player, in the order they should be searched
+     * @param depth     of the search
+     * @param alpha     lower bound of the window
+     * @param beta      upper bound of the window
+     * @return best move found, or null if the search was stopped or no move scored above alpha
+     */
+    private Move searchRoot(Board board, List<Move> rootMoves, int depth, int alpha, int beta) {
+        Move bestMove = null;
+        int bestValue = -INFINITE_SCORE;
+        int currentValue;
+
+        boolean firstMove = true;
+        this.principalVariationTable.startSearch(0);
+        for (Move move : rootMoves) {
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (moveTransition.getMoveStatus().isDone()) {
+                final Board childBoard = moveTransition.getTransitionBoard();
+                final int moveCode = MoveCodes.encode(move);
+                this.principalVariationTable.enter(0, moveCode);
+                if (firstMove) {
+                    currentValue = -search(childBoard, depth - 1, 1, -beta, -alpha, true, false);
+                    firstMove = false;
+                } else {
+                    currentValue = -search(childBoard, depth - 1, 1, -alpha - 1, -alpha, true, true);
+                    if (currentValue > alpha && currentValue < beta && !this.searchStopped) {
+                        currentValue = -search(childBoard, depth - 1, 1, -beta, -alpha, true, false);
+                    }
+                }
+                if (this.searchStopped) break;
+
+                if (currentValue > bestValue) bestValue = currentValue;
+                if (currentValue > alpha) {
+                    alpha = currentValue;
+                    bestMove = move;
+                    this.principalVariationTable.update(0, moveCode);
+                }
+
+                // the window is too narrow, or nothing is better than mate in one
+                if (alpha >= beta || alpha == MATE_SCORE - 1) break;
+            }
+        }
+        this.rootValue = bestValue;
+        return bestMove;
+    }
+
+    /**
+     * Count a visited node and check if the search has been stopped, or if its maximum depth has been lowered
+     * below the current iteration. A cancelled search is stopped even where stopping is not allowed. The node count is only reported to the search control every few nodes,
+     * as the control is shared with the other threads and reads the clock.
+     *
+     * @return true if the search should stop as soon as possible
+     */
+    private boolean countNodeAndCheckStop() {
+        this.nodeCount++;
+        if ((this.nodeCount & NODE_REPORT_INTERVAL) == 0) this.control.addNodes(NODE_REPORT_INTERVAL + 1);
+        if (!this.searchStopped && (this.stopAllowed || this.control.isCancelled())) {
+            this.searchStopped = this.control.isStopped() || this.iterationDepth > this.control.getMaxDepth();
+        }
+        return this.searchStopped;
+    }
+
+    /**
+     * Negamax principal variation search. The score is given from the view of the player to move,
+     * and the first move is searched with the full window while the following moves are searched with
+     * a null window, and searched again only if they turn out to be better than the best move so far.
+     * Bounds are fail-soft; the returned score may lie outside the alpha-beta window.
+     * The tree is pruned selectively by null move pruning and late move reductions, and close to the horizon
+     * by futility pruning, reverse futility pruning and razoring, unless the player to move is in check.
+     * A PV node or expected cut node without a hash move is searched shallower or first searched at a reduced depth
+     * to find one, depending on the internal iteration setting. An expected all node searches every move anyway,
+     * so the order of its moves hardly matters.
+     * Moves that give check, the only legal reply to a check, and a hash move that is much better than every other
+     * move (singular) are searched one ply deeper, as long as the line has not used up its extension budget.
+     * A position that already occurred in the game or earlier in the line is scored as a draw.
+     *
+     * @param board         to make move on
+     * @param searchDepth   current depth of search
+     * @param ply           distance from the root of the search
+     * @param alpha         lowest score the player to move is already guaranteed
+     * @param beta          highest score the opponent allows
+     * @param allowNullMove false if the last move was a null move, two null moves in a row prove nothing
+     * @param cutNode       true if the node is expected to fail high, false for PV nodes and expected all nodes
+     * @return score of the board for the player to move
+     * @see <a href="https://www.chessprogramming.org/Node_Types">Node Types</a>
+     * @see <a href="https://www.chessprogramming.org/Principal_Variation_Search">Principal Variation Search</a>
+     * @see <a href="https://www.chessprogramming.org/Futility_Pruning">Futility Pruning</a>
+     * @see <a href="https://www.chessprogramming.org/Razoring">Razoring</a>
+     * @see <a href="https://www.chessprogramming.org/Extensions">Extensions</a>
+     */
+    private int search(Board board, int searchDepth, int ply, int alpha, int beta, boolean allowNullMove, boolean cutNode) {
+        this.principalVariationTable.clear(ply);
+        if (searchDepth <= 0) {
+            return quiescence(board, ply, 0, alpha, beta);
+        }
+        if (countNodeAndCheckStop()) {
+            return 0;
+        }
+        final long hash = board.getZobristHash();
+        if (isDrawByRule(board) || this.positionHistory.isRepetition(ply, hash, repetitionWindow(board, ply, allowNullMove))) {
+            return DRAW_SCORE;
+        }
+        this.positionHistory.set(ply, hash);
+        // positions are only stored after being searched, a hit can not be a checkmate or stalemate
+        long entry = this.transpositionTable.probe(hash);
+        this.hashProbeCount++;
+        if (entry != 0) this.hashHitCount++;
+        if (isTableCutoff(entry, searchDepth, ply, alpha, beta)) {
+            return scoreFromTable(TranspositionTable.score(entry), ply);
+        }
+
+        final boolean inCheck = board.currentPlayer().isInCheck();
+        final boolean pvNode = beta - alpha > 1;
+        final int staticEval = inCheck ? -INFINITE_SCORE : evaluate(board);
+        // reverse futility pruning, the position is so far above beta that the opponent is not expected to recover
+        if (!pvNode && !inCheck && searchDepth <= FUTILITY_MAX_DEPTH && !isMateScore(beta) &&
+                staticEval - FUTILITY_MARGINS[searchDepth] >= beta) {
+            return staticEval - FUTILITY_MARGINS[searchDepth];
+        }
+        // razoring, the position is so far below alpha that only captures could save it
+        if (!pvNode && !inCheck && searchDepth <= RAZOR_MAX_DEPTH && !isMateScore(alpha) &&
+                staticEval + FUTILITY_MARGINS[searchDepth + 1] <= alpha) {
+            final int razorValue = quiescence(board, ply, 0, alpha, alpha + 1);
+            if (this.searchStopped) return 0;
+            if (razorValue <= alpha) return razorValue;
+        }
+        if (allowNullMove && !inCheck && searchDepth >= NULL_MOVE_MIN_DEPTH && canPruneNullMove(board, staticEval, beta)) {
+            setLineExtensions(ply, 0);
+            this.principalVariationTable.enter(ply, MoveCodes.NO_MOVE);
+            final int nullValue = -search(board.makeNullMove(), searchDepth - 1 - nullMoveReduction(searchDepth), ply + 1, -beta, -beta + 1, false, !cutNode);
+            if (this.searchStopped) return 0;
+            if (nullValue >= beta) {
+                // passing is not a real move, a mate found after it is not proven
+                return nullValue >= MATE_BOUND ? beta : nullValue;
+            }
+        }
+
+        // a node on the line of the previous iteration tries the move of that line first
+        final int previousLineMoveCode = this.principalVariationTable.previousMove(ply);
+        if ((pvNode || cutNode) && searchDepth >= INTERNAL_ITERATION_MIN_DEPTH &&
+                TranspositionTable.moveCode(entry) == MoveCodes.NO_MOVE && previousLineMoveCode == MoveCodes.NO_MOVE) {
+            if (this.internalIteration == InternalIteration.REDUCTION) {
+                searchDepth--;
+            } else if (this.internalIteration == InternalIteration.DEEPENING) {
+                search(board, searchDepth - INTERNAL_DEEPENING_REDUCTION, ply, alpha, beta, allowNullMove, cutNode);
+                if (this.searchStopped) return 0;
+                entry = this.transpositionTable.probe(hash);
+                this.principalVariationTable.clear(ply);
+            }
+        }
+
+        // futility pruning, quiet moves can not raise the score to alpha this close to the horizon
+        final boolean futile = !inCheck && searchDepth <= FUTILITY_MAX_DEPTH && !isMateScore(alpha) &&
+                staticEval + FUTILITY_MARGINS[searchDepth] <= alpha;
+        final boolean canExtend = this.lineExtensions[Math.min(ply, KillerMoves.MAX_PLY)] < extensionBudget();
+        Collection<Move> moves = board.currentPlayer().getLegalMoves();
+        // single reply extension, a player in check with only one way out is forced to play it
+        if (inCheck && canExtend) moves = filterLegalMoves(board, moves);
+        final boolean singleReply = inCheck && canExtend && moves.size() == 1;
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        // an expected cut node is refuted by its first good move, a deeper search of the hash move rarely pays off
+        final int singularMoveCode = canExtend && !singleReply && !cutNode ?
+                singularMove(board, moves, entry, searchDepth, ply, alliance) : MoveCodes.NO_MOVE;
+
+        final int originalAlpha = alpha;
+        int bestValue = -INFINITE_SCORE;
+        Move bestMove = null;
+        int legalMoveCount = 0;
+        final MovePicker movePicker = new MovePicker(moves, previousLineMoveCode != MoveCodes.NO_MOVE ?
+                previousLineMoveCode : TranspositionTable.moveCode(entry), this.killerMoves, this.historyTable, ply, alliance);
+        while (movePicker.hasNext()) {
+            final Move move = movePicker.next();
+            // a legal move must have been searched first, otherwise a pruned position looks like a mate
+            if (futile && legalMoveCount > 0 && MovePicker.isQuiet(move) && !board.givesCheck(move)) {
+                // the pruned move is assumed to reach the margin, so the upper bound of the node stays sound
+                bestValue = Math.max(bestValue, staticEval + FUTILITY_MARGINS[searchDepth]);
+                continue;
+            }
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) continue;
+            legalMoveCount++;
+
+            final Board childBoard = moveTransition.getTransitionBoard();
+            final int extension = canExtend && (singleReply || childBoard.currentPlayer().isInCheck() ||
+                    movePicker.lastMoveCode() == singularMoveCode) ? 1 : 0;
+            setLineExtensions(ply, extension);
+            this.principalVariationTable.enter(ply, movePicker.lastMoveCode());
+            final int childDepth = searchDepth - 1 + extension;
+            int value;
+            // the first move of a PV node leads to a PV node, the null window moves of a PV node are expected
+            // to be refuted, and below that cut nodes and all nodes alternate
+            if (legalMoveCount == 1) {
+                value = -search(childBoard, childDepth, ply + 1, -beta, -alpha, true, !pvNode && !cutNode);
+            } else {
+                final int reduction = inCheck ? 0 : lateMoveReduction(move, childBoard, searchDepth, legalMoveCount);
+                value = -search(childBoard, childDepth - reduction, ply + 1, -alpha - 1, -alpha, true, pvNode || !cutNode);
+                // a reduced move that beats alpha is verified at full depth
+                if (reduction > 0 && value > alpha && !this.searchStopped) {
+                    value = -search(childBoard, childDepth, ply + 1, -alpha - 1, -alpha, true, pvNode || !cutNode);
+                }
+                if (value > alpha && value < beta && !this.searchStopped) {
+                    value = -search(childBoard, childDepth, ply + 1, -beta, -alpha, true, false);
+                }
+            }
+            // the result of an interrupted search is incomplete and must not be stored
+            if (this.searchStopped) return 0;
+
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+                if (value > alpha) {
+                    alpha = value;
+                    this.principalVariationTable.update(ply, movePicker.lastMoveCode());
+                    // alpha beta break off, a quiet move that refutes the position is remembered for ordering
+                    if (alpha >= beta) {
+                        this.betaCutoffCount++;
+                        if (legalMoveCount == 1) this.firstMoveCutoffCount++;
+                        if (MovePicker.isQuiet(move)) {
+                            this.killerMoves.store(ply, movePicker.lastMoveCode());
+                            this.historyTable.update(alliance, movePicker.lastMoveCode(), searchDepth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (legalMoveCount == 0) {
+            // checkmate or stalemate, a mate closer to the root scores higher
+            return inCheck ? -MATE_SCORE + ply : DRAW_SCORE;
+        }
+
+        final int bound;
+        if (bestValue >= beta) bound = TranspositionTable.BOUND_LOWER;
+        else if (bestValue > originalAlpha) bound = TranspositionTable.BOUND_EXACT;
+        else bound = TranspositionTable.BOUND_UPPER;
+        // no move went above alpha, so none of them is known to be the best
+        storeInTable(hash, searchDepth, bound, scoreToTable(bestValue, ply),
+                bound == TranspositionTable.BOUND_UPPER ? null : bestMove);
+        return bestValue;
+    }
+
+    /**
+     * Quiescence search; searches captures and promotions until the position is quiet, so that the evaluation
+     * is not done in the middle of an exchange. The player to move may "stand pat" and accept the static evaluation
+     * instead of capturing, except when in check, where every evasion is searched instead.
+     * Captures that lose material are not searched, and captures that can not raise the score to alpha
+     * even when winning the piece for free are pruned (delta pruning).
+     *
+     * @param board           to make move on
+     * @param ply             distance from the root of the search
+     * @param quiescenceDepth plys searched by the quiescence search so far
+     * @param alpha           lowest score the player to move is already guaranteed
+     * @param beta            highest score the opponent allows
+     * @return score of the board for the player to move
+     * @see <a href="https://www.chessprogramming.org/Quiescence_Search">Quiescence Search</a>
+     * @see <a href="https://www.chessprogramming.org/Delta_Pruning">Delta Pruning</a>
+     */
+    private int quiescence(Board board, int ply, int quiescenceDepth, int alpha, int beta) {
+        if (countNodeAndCheckStop()) {
+            return 0;
+        }
+        this.quiescenceNodeCount++;
+        if (isDrawByRule(board)) {
+            return DRAW_SCORE;
+        }
+
+        final boolean inCheck = board.currentPlayer().isInCheck();
+        int bestValue = -INFINITE_SCORE;
+        int standPat = 0;
+        if (!inCheck) {
+            standPat = evaluate(board);
+            if (standPat >= beta || quiescenceDepth >= this.maxQuiescence) return standPat;
+            bestValue = standPat;
+            if (standPat > alpha) alpha = standPat;
+        } else if (quiescenceDepth >= this.maxQuiescence) {
+            return evaluate(board);
+        }
+
+        int legalMoveCount = 0;
+        final MovePicker movePicker = new MovePicker(board.currentPlayer().getLegalMoves(), MoveCodes.NO_MOVE,
+                this.killerMoves, this.historyTable, ply, board.currentPlayer().getAlliance());
+        while (movePicker.hasNext()) {
+            final Move move = movePicker.next();
+            // winning captures and promotions are picked first, the rest are quiet moves or lose material
+            if (!inCheck && (MovePicker.isQuiet(move) || movePicker.isLosingCapture())) break;
+            if (!inCheck && move.isAttack() && !(move instanceof Move.PawnPromotion) &&
+                    standPat + move.getAttackedPiece().getPieceType().getPieceValue() + DELTA_MARGIN <= alpha) continue;
+
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) continue;
+            legalMoveCount++;
+
+            final int value = -quiescence(moveTransition.getTransitionBoard(), ply + 1, quiescenceDepth + 1, -beta, -alpha);
+            if (this.searchStopped) return 0;
+
+            if (value > bestValue) {
+                bestValue = value;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        if (inCheck && legalMoveCount == 0) {
+            return -MATE_SCORE + ply;
+        }
+        return bestValue;
+    }
+
+    /**
+     * Check if null move pruning may be tried on a board. If the player to move only has pawns left, passing
+     * could be better than any legal move (zugzwang), and the null move would prune good lines for the opponent.
+     * A position that already scores below beta is unlikely to fail high after passing, so it is not tried either.
+     *
+     * @param board      to search
+     * @param staticEval evaluation of the board for the player to move
+     * @param beta       for current search
+     * @return true if a null move search should be tried
+     * @see <a href="https://www.chessprogramming.org/Null_Move_Pruning">Null Move Pruning</a>
+     */
+    private boolean canPruneNullMove(Board board, int staticEval, int beta) {
+        if (isMateScore(beta)) return false;
+        final Alliance alliance = board.currentPlayer().getAlliance();
+        final boolean hasPiecesBesidesPawns = board.getPieceCount(alliance, Piece.PieceType.KNIGHT) > 0 ||
+                board.getPieceCount(alliance, Piece.PieceType.BISHOP) > 0 ||
+                board.getPieceCount(alliance, Piece.PieceType.ROOK) > 0 ||
+                board.getPieceCount(alliance, Piece.PieceType.QUEEN) > 0;
+        return hasPiecesBesidesPawns && staticEval >= beta;
+    }
+
+    /**
+     * A line may be extended by at most half the depth of the iteration, so that the extensions of a long
+     * series of checks can not make the search explode
+     *
+     * @return number of plys a single line may be extended by
+     */
+    private int extensionBudget() {
+        return Math.max(1, this.iterationDepth / 2);
+    }
+
+    /**
+     * Record the extensions of the line leading to the child of a node
+     *
+     * @param ply       of the node
+     * @param extension plys the move to the child is extended by
+     */
+    private void setLineExtensions(int ply, int extension) {
+        if (ply < KillerMoves.MAX_PLY) this.lineExtensions[ply + 1] = this.lineExtensions[ply] + extension;
+    }
+
+    /**
+     * Record how far back the line of a node may be searched for a repetition; to the last capture or pawn move,
+     * but not past a null move. Passing is not a legal move, so the positions before it can not be repeated,
+     * while the halfmove clock counts it as a reversible move.
+     *
+     * @param board         of the node
+     * @param ply           distance from the root of the search
+     * @param allowNullMove false if the last move was a null move
+     * @return number of plys the node may look back for a repetition
+     */
+    private int repetitionWindow(Board board, int ply, boolean allowNullMove) {
+        final int window = allowNullMove ?
+                Math.min(board.getHalfmoveClock(), this.repetitionWindows[Math.min(ply, KillerMoves.MAX_PLY) - 1] + 1) : 0;
+        if (ply <= KillerMoves.MAX_PLY) this.repetitionWindows[ply] = window;
+        return window;
+    }
+
+    /**
+     * @param board to make the moves on
+     * @param moves pseudo legal moves of the player to move
+     * @return the moves that do not leave the player's king in check
+     */
+    private static List<Move> filterLegalMoves(Board board, Collection<Move> moves) {
+        final List<Move> legalMoves = new ArrayList<>();
+        for (Move move : moves) {
+            if (board.currentPlayer().makeMove(move).getMoveStatus().isDone()) legalMoves.add(move);
+        }
+        return legalMoves;
+    }
+
+    /**
+     * Check if the hash move of a position is singular; the only move that holds the score stored in the
+     * transposition table. The other moves are searched at reduced depth with a null window below the stored score,
+     * and the hash move is singular if none of them reach it. The moves are searched in the order of the move picker,
+     * so the strongest alternatives come first and a hash move that is not singular is found out after a few searches.
+     *
+     * @param board       to search
+     * @param moves       of the player to move
+     * @param entry       of the board in the transposition table
+     * @param searchDepth current depth of search
+     * @param ply         distance from the root of the search
+     * @param alliance    of the player to move
+     * @return code of the hash move if it is singular, otherwise MoveCodes.NO_MOVE
+     * @see <a href="https://www.chessprogramming.org/Singular_Extensions">Singular Extensions</a>
+     */
+    private int singularMove(Board board, Collection<Move> moves, long entry, int searchDepth, int ply, Alliance alliance) {
+        final int hashMoveCode = TranspositionTable.moveCode(entry);
+        if (searchDepth < SINGULAR_MIN_DEPTH || hashMoveCode == MoveCodes.NO_MOVE) return MoveCodes.NO_MOVE;
+        if (TranspositionTable.bound(entry) == TranspositionTable.BOUND_UPPER || TranspositionTable.depth(entry) < searchDepth - 3) {
+            return MoveCodes.NO_MOVE;
+        }
+        final int tableScore = scoreFromTable(TranspositionTable.score(entry), ply);
+        if (isMateScore(tableScore)) return MoveCodes.NO_MOVE;
+
+        final int singularBeta = tableScore - SINGULAR_MARGIN;
+        final MovePicker movePicker = new MovePicker(moves, hashMoveCode, this.killerMoves, this.historyTable, ply, alliance);
+        while (movePicker.hasNext()) {
+            final Move move = movePicker.next();
+            final int moveCode = movePicker.lastMoveCode();
+            if (moveCode == hashMoveCode) continue;
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) continue;
+            setLineExtensions(ply, 0);
+            this.principalVariationTable.enter(ply, moveCode);
+            final int value = -search(moveTransition.getTransitionBoard(), searchDepth / 2 - 1, ply + 1,
+                    -singularBeta, -singularBeta + 1, true, true);
+            if (this.searchStopped || value >= singularBeta) return MoveCodes.NO_MOVE;
+        }
+        return hashMoveCode;
+    }
+
+    /**
+     * @param score to check
+     * @return true if the score is a mate score for either player
+     */
+    private static boolean isMateScore(int score) {
+        return score >= MATE_BOUND || score <= -MATE_BOUND;
+    }
+
+    /**
+     * @param searchDepth current depth of search
+     * @return how many plys shallower the null move is searched
+     */
+    private static int nullMoveReduction(int searchDepth) {
+        return searchDepth > 6 ? 3 : 2;
+    }
+
+    /**
+     * Calculates how many plys a move is searched shallower than the other moves.
+     * Only quiet moves that are ordered late are reduced; captures, promotions and checks are searched at full depth.
+     *
+     * @param move           to search
+     * @param childBoard     board after the move
+     * @param searchDepth    current depth of search
+     * @param legalMoveCount number of the move in the move order
+     * @return the reduction in plys, 0 if the move is not reduced
+     * @see <a href="https://www.chessprogramming.org/Late_Move_Reductions">Late Move Reductions</a>
+     */
+    private static int lateMoveReduction(Move move, Board childBoard, int searchDepth, int legalMoveCount) {
+        if (searchDepth < LATE_MOVE_MIN_DEPTH || legalMoveCount <= LATE_MOVE_THRESHOLD) return 0;
+        if (!MovePicker.isQuiet(move) || childBoard.currentPlayer().isInCheck()) return 0;
+        return legalMoveCount > 3 * LATE_MOVE_THRESHOLD && searchDepth >= 6 ? 2 : 1;
+    }
+
+    /**
+     * Evaluate a board from the view of the player to move
+     *
+     * @param board to evaluate
+     * @return score of the board, positive if the player to move has the upper hand
+     */
+    private int evaluate(Board board) {
+        final int score = this.boardEvaluator.evaluate(board, 0);
+        return board.currentPlayer().getAlliance() == Alliance.WHITE ? score : -score;
+    }
+
+    /**
+     * Check if a transposition table entry can be used instead of searching the position again.
+     * The entry must come from a search at least as deep as the current one, and its score must be exact
+     * or a bound that falls outside the current alpha-beta window.
+     *
+     * @param entry       from the transposition table, 0 if the position was not found
+     * @param searchDepth current depth of search
+     * @param ply         distance from the root of the search
+     * @param alpha       for current search
+     * @param beta        for current search
+     * @return true if the stored score can be returned directly
+     */
+    private static boolean isTableCutoff(long entry, int searchDepth, int ply, int alpha, int beta) {
+        if (entry == 0 || TranspositionTable.depth(entry) < searchDepth) return false;
+        final int score = scoreFromTable(TranspositionTable.score(entry), ply);
+        switch (TranspositionTable.bound(entry)) {
+            case TranspositionTable.BOUND_EXACT: return true;
+            case TranspositionTable.BOUND_LOWER: return score >= beta;
+            case TranspositionTable.BOUND_UPPER: return score <= alpha;
+            default: return false;
+        }
+    }
+
+    /**
+     * Mate scores are stored relative to the position instead of the root,
+     * so that they stay correct when the position is reached at another ply
+     *
+     * @param score found by the search
+     * @param ply   distance from the root of the search
+     * @return score to store in the transposition table
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score + ply;
+        if (score <= -MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    /**
+     * Inverse of scoreToTable
+     *
+     * @param score stored in the transposition table
+     * @param ply   distance from the root of the search
+     * @return score relative to the root
+     */
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score - ply;
+        if (score <= -MATE_BOUND) return score + ply;
+        return score;
+    }
+
+    /**
+     * Store the result of a search in the transposition table
+     *
+     * @param hash        of the searched board
+     * @param searchDepth depth of the search
+     * @param bound       type of the score
+     * @param score       found by the search
+     * @param bestMove    best move found, may be null
+     */
+    private void storeInTable(long hash, int searchDepth, int bound, int score, Move bestMove) {
+        this.transpositionTable.store(hash, searchDepth, bound, score, bestMove == null ? MoveCodes.NO_MOVE : MoveCodes.encode(bestMove));
+    }
+
+    /**
+     * Check if the board is drawn by the fifty-move rule or by insufficient material,
+     * such positions are scored as draws without being searched any further
+     *
+     * @param board to evaluate
+     * @return true if the position is drawn
+     */
+    private boolean isDrawByRule(Board board) {
+        return board.isFiftyMoveRuleDraw() || board.hasInsufficientMaterial();
+    }
+
+    /**
+     * Orders the moves of the root position, this happens once per search so a more expensive order is affordable.
+     * General comparison outline:
+     * Check if move puts opponent in check
+     * Order of the MovePicker
+     *
+     * @param board to order the moves of
+     * @return ordered list of moves
+     */
+    List<Move> orderRootMoves(Board board) {
+        final MovePicker movePicker = new MovePicker(board.currentPlayer().getLegalMoves(),
+                TranspositionTable.moveCode(this.transpositionTable.probe(board.getZobristHash())),
+                this.killerMoves, this.historyTable, 0, board.currentPlayer().getAlliance());
+        final List<Move> checkingMoves = new ArrayList<>();
+        final List<Move> otherMoves = new ArrayList<>();
+        while (movePicker.hasNext()) {
+            final Move move = movePicker.next();
+            if (board.givesCheck(move)) checkingMoves.add(move);
+            else otherMoves.add(move);
+        }
+        checkingMoves.addAll(otherMoves);
+        return checkingMoves;
+    }
+}
@@ -0,0 +1,97 @@
+package player.basicAI;
+
+import board.Board;
+import board.FenUtils;
+import board.Move;
+import pieces.Alliance;
+import player.MoveTransition;
+import player.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Match between the MiniMax strategy and Monte Carlo tree search, for comparing the two on the same hardware.
+ * Both strategies get the same time and number of threads for every move. Every position of the benchmark suite
+ * is played twice, once with each strategy as white, and a game that is not over after MAX_GAME_PLYS plys is a draw.
+ * Run the main method with the time per move in milliseconds and the number of threads as the optional arguments.
+ */
+public final class StrategyMatch {
+    private static final long DEFAULT_MOVE_TIME = 1000;
+    private static final int MAX_GAME_PLYS = 200;
+
+    private StrategyMatch() {
+        throw new RuntimeException("Do not initialise");
+    }
+
+    public static void main(String[] args) {
+        final long moveTime = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MOVE_TIME;
+        final int threadCount = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        final SearchLimits limits = SearchLimits.moveTime(moveTime);
+        int miniMaxWins = 0, draws = 0, monteCarloWins = 0;
+        for (String fen : SearchBenchmark.POSITIONS) {
+            for (Alliance miniMaxAlliance : Alliance.values()) {
+                final MoveStrategy miniMax = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false,
+                        MiniMax.DEFAULT_HASH_SIZE, threadCount);
+                final MoveStrategy monteCarlo = new MonteCarloTreeSearch(1000, true, false,
+                        MonteCarloTreeSearch.DEFAULT_TREE_SIZE, threadCount);
+                final boolean miniMaxIsWhite = miniMaxAlliance == Alliance.WHITE;
+                final int result = playGame(FenUtils.createBoardFromFen(fen), miniMaxIsWhite ? miniMax : monteCarlo,
+                        miniMaxIsWhite ? monteCarlo : miniMax, limits);
+                final int miniMaxResult = miniMaxIsWhite ? result : -result;
+                if (miniMaxResult > 0) miniMaxWins++;
+                else if (miniMaxResult < 0) monteCarloWins++;
+                else draws++;
+                System.out.println(fen + " MiniMax as " + miniMaxAlliance + ": " +
+                        (miniMaxResult > 0 ? "MiniMax wins" : miniMaxResult < 0 ? "Monte Carlo wins" : "draw"));
+            }
+        }
+        System.out.println("TOTAL: MiniMax " + miniMaxWins + ", Monte Carlo " + monteCarloWins + ", draws " + draws);
+    }
+
+    /**
+     * Play a game between two strategies
+     *
+     * @param board  to start from
+     * @param white  strategy playing white
+     * @param black  strategy playing black
+     * @param limits of the search of every move
+     * @return 1 if white wins, -1 if black wins and 0 for a draw
+     */
+    static int playGame(Board board, MoveStrategy white, MoveStrategy black, SearchLimits limits) {
+        final List<Board> boards = new ArrayList<>();
+        boards.add(board);
+        for (int ply = 0; ply < MAX_GAME_PLYS; ply++) {
+            final Player player = board.currentPlayer();
+            if (player.isInCheckmate()) return player.getAlliance() == Alliance.WHITE ? -1 : 1;
+            if (player.isInStalemate() || board.isFiftyMoveRuleDraw() || board.hasInsufficientMaterial() ||
+                    isThreefoldRepetition(boards)) {
+                return 0;
+            }
+
+            final MoveStrategy strategy = player.getAlliance() == Alliance.WHITE ? white : black;
+            strategy.setGameHistory(boards);
+            final Move move = strategy.search(board, limits).getBestMove();
+            final MoveTransition moveTransition = player.makeMove(move);
+            if (!moveTransition.getMoveStatus().isDone()) {
+                throw new IllegalStateException(strategy + " played an illegal move " + move);
+            }
+            board = moveTransition.getTransitionBoard();
+            boards.add(board);
+        }
+        return 0;
+    }
+
+    /**
+     * @param boards played in the game, oldest first
+     * @return true if the last board occurred at least three times
+     */
+    private static boolean isThreefoldRepetition(List<Board> boards) {
+        final long hash = boards.get(boards.size() - 1).getZobristHash();
+        int count = 0;
+        for (Board board : boards) {
+            if (board.getZobristHash() == hash) count++;
+        }
+        return count >= 3;
+    }
+}
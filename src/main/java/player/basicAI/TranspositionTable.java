@@ -0,0 +1,125 @@
+package player.basicAI;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size transposition table that remembers the results of earlier searches, keyed by the Zobrist hash of a board.
+ * The number of entries is a power of two, and every entry is a single primitive long:
+ *
+ *  bits  0-15  key verification (upper 16 bits of the hash)
+ *  bits 16-31  best move (see MoveCodes)
+ *  bits 32-53  score (signed, 22 bits)
+ *  bits 54-55  generation (0-3)
+ *  bits 56-61  depth (0-63)
+ *  bits 62-63  bound type
+ *
+ * Entries are replaced by a depth-preferred policy; a slot holding a different position of the current search is
+ * only overwritten by a search that went at least as deep. Every search starts a new generation, and entries left
+ * by earlier searches can always be replaced, so a table kept for a whole game does not fill up with deep entries
+ * of positions that were left behind long ago.
+ * The table can be shared between threads without locking; an entry is read and written as one atomic long,
+ * so an entry is never seen half written, and two threads storing into the same slot at once only lose one result.
+ *
+ * @see <a href="https://www.chessprogramming.org/Transposition_Table">Transposition Table</a>
+ */
+final class TranspositionTable {
+    static final int BOUND_EXACT = 1;
+    static final int BOUND_LOWER = 2;
+    static final int BOUND_UPPER = 3;
+
+    private static final int MAX_SCORE = (1 << 21) - 1;
+    private static final int MAX_DEPTH = 63;
+    private static final int GENERATION_MASK = 3;
+
+    private final AtomicLongArray entries;
+    private final int indexMask;
+    private volatile int generation;
+
+    /**
+     * Construct a transposition table
+     *
+     * @param sizeInMegabytes memory used by the table, rounded down to a power of two number of entries
+     */
+    TranspositionTable(int sizeInMegabytes) {
+        final long entryCount = Math.max(1L, ((long) sizeInMegabytes << 20) / Long.BYTES);
+        final int size = (int) Long.highestOneBit(Math.min(entryCount, 1L << 30));
+        this.entries = new AtomicLongArray(size);
+        this.indexMask = size - 1;
+    }
+
+    /**
+     * Start a new generation, to be called once before every search that uses the table
+     */
+    void newSearch() {
+        this.generation = (this.generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Look up a position in the table
+     *
+     * @param hash Zobrist hash of the board
+     * @return the entry of the position, or 0 if the position is not in the table
+     */
+    long probe(long hash) {
+        final long entry = this.entries.get(index(hash));
+        return entry != 0 && (entry & 0xFFFFL) == verification(hash) ? entry : 0L;
+    }
+
+    /**
+     * Store the result of a search
+     *
+     * @param hash     Zobrist hash of the board
+     * @param depth    the position was searched to
+     * @param bound    type of the score; BOUND_EXACT, BOUND_LOWER or BOUND_UPPER
+     * @param score    found by the search
+     * @param moveCode of the best move found, or MoveCodes.NO_MOVE
+     */
+    void store(long hash, int depth, int bound, int score, int moveCode) {
+        final int index = index(hash);
+        final long oldEntry = this.entries.get(index);
+        final boolean samePosition = (oldEntry & 0xFFFFL) == verification(hash);
+        final int generation = this.generation;
+        if (oldEntry != 0 && !samePosition && generation(oldEntry) == generation && depth(oldEntry) > depth) return;
+
+        // keep the known best move of a position when a search of it did not find one
+        if (moveCode == MoveCodes.NO_MOVE && samePosition) moveCode = moveCode(oldEntry);
+
+        final int clampedScore = Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+        final int clampedDepth = Math.max(0, Math.min(MAX_DEPTH, depth));
+        this.entries.set(index, verification(hash) |
+                ((long) (moveCode & 0xFFFF) << 16) |
+                ((long) (clampedScore & 0x3FFFFF) << 32) |
+                ((long) generation << 54) |
+                ((long) clampedDepth << 56) |
+                ((long) bound << 62));
+    }
+
+    static int moveCode(long entry) {
+        return (int) ((entry >>> 16) & 0xFFFF);
+    }
+
+    static int score(long entry) {
+        // shift the 22 bit score to the top of an int and back to restore the sign
+        return ((int) (entry >>> 32)) << 10 >> 10;
+    }
+
+    static int depth(long entry) {
+        return (int) ((entry >>> 56) & MAX_DEPTH);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> 54) & GENERATION_MASK);
+    }
+
+    static int bound(long entry) {
+        return (int) (entry >>> 62);
+    }
+
+    private int index(long hash) {
+        return (int) (hash & this.indexMask);
+    }
+
+    private static long verification(long hash) {
+        return hash >>> 48;
+    }
+}
@@ -0,0 +1,92 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+import player.MoveTransition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the draw rules of the board; insufficient material and the fifty-move rule
+ */
+class DrawRuleTest {
+
+    @Test
+    void kingAgainstKingIsInsufficientMaterial() {
+        assertTrue(FenUtils.createBoardFromFen("8/8/4k3/8/8/3K4/8/8 w - - 0 1").hasInsufficientMaterial());
+    }
+
+    @Test
+    void kingAndKnightAgainstKingIsInsufficientMaterial() {
+        assertTrue(FenUtils.createBoardFromFen("8/8/4k3/8/8/3K4/5N2/8 w - - 0 1").hasInsufficientMaterial());
+    }
+
+    @Test
+    void bishopsOnSameColourAreInsufficientMaterial() {
+        // c1 and f4 are both dark squares
+        assertTrue(FenUtils.createBoardFromFen("8/8/4k3/8/5b2/3K4/8/2B5 w - - 0 1").hasInsufficientMaterial());
+    }
+
+    @Test
+    void bishopsOnDifferentColoursAreSufficientMaterial() {
+        // c1 is a dark square, e4 a light one
+        assertFalse(FenUtils.createBoardFromFen("8/8/4k3/8/4b3/3K4/8/2B5 w - - 0 1").hasInsufficientMaterial());
+    }
+
+    @Test
+    void pawnOrHeavyPieceIsSufficientMaterial() {
+        assertFalse(FenUtils.createBoardFromFen("8/8/4k3/8/8/3K4/4P3/8 w - - 0 1").hasInsufficientMaterial());
+        assertFalse(FenUtils.createBoardFromFen("8/8/4k3/8/8/3K4/8/7r w - - 0 1").hasInsufficientMaterial());
+        assertFalse(Board.createStandardBoard().hasInsufficientMaterial());
+    }
+
+    @Test
+    void pieceMoveIncreasesHalfmoveClock() {
+        final Board board = play(FenUtils.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K1N1 w - - 7 20"), "g1", "f3");
+        assertEquals(8, board.getHalfmoveClock());
+        assertEquals(20, board.getFullmoveNumber());
+    }
+
+    @Test
+    void pawnMoveResetsHalfmoveClock() {
+        final Board board = play(FenUtils.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K1N1 w - - 7 20"), "e2", "e4");
+        assertEquals(0, board.getHalfmoveClock());
+    }
+
+    @Test
+    void captureResetsHalfmoveClock() {
+        final Board board = play(FenUtils.createBoardFromFen("4k3/8/8/8/8/5r2/8/4K1N1 w - - 30 40"), "g1", "f3");
+        assertEquals(0, board.getHalfmoveClock());
+    }
+
+    @Test
+    void fullmoveNumberIncreasesAfterBlackMove() {
+        final Board board = play(FenUtils.createBoardFromFen("4k1n1/8/8/8/8/8/8/4K3 b - - 7 20"), "g8", "f6");
+        assertEquals(21, board.getFullmoveNumber());
+    }
+
+    @Test
+    void hundredHalfmovesAreFiftyMoveRuleDraw() {
+        assertFalse(FenUtils.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K1N1 w - - 99 80").isFiftyMoveRuleDraw());
+        assertTrue(play(FenUtils.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K1N1 w - - 99 80"), "g1", "f3").isFiftyMoveRuleDraw());
+        assertFalse(play(FenUtils.createBoardFromFen("4k3/8/8/8/8/8/4P3/4K1N1 w - - 99 80"), "e2", "e3").isFiftyMoveRuleDraw());
+    }
+
+    /**
+     * Make a legal move on a board
+     *
+     * @param board to move on
+     * @param start square of the move, in algebraic notation
+     * @param destination square of the move, in algebraic notation
+     * @return board after the move
+     */
+    private static Board play(Board board, String start, String destination) {
+        final BoardUtils utils = BoardUtils.getInstance();
+        final Move move = Move.MoveFactory.createMove(board, utils.getCoordinateFromAlgebraicNotation(start),
+                utils.getCoordinateFromAlgebraicNotation(destination));
+        final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+        assertTrue(moveTransition.getMoveStatus().isDone(), "move " + start + destination + " is not legal");
+        return moveTransition.getTransitionBoard();
+    }
+}
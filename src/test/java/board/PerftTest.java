@@ -0,0 +1,58 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the move generation against the known perft counts of reference positions
+ *
+ * @see <a href="https://www.chessprogramming.org/Perft_Results">Perft Results</a>
+ */
+class PerftTest {
+    private static final String INITIAL_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+    // castling on both sides, castling through attacked squares and en passant
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    // en passant captures that expose the king, and checks along the rank
+    private static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    // promotions with and without capture on the last rank
+    private static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+
+    @Test
+    void initialPosition() {
+        assertPerft(INITIAL_POSITION, 20, 400, 8902);
+    }
+
+    @Test
+    void kiwipete() {
+        assertPerft(KIWIPETE, 48, 2039, 97862);
+    }
+
+    @Test
+    void position3() {
+        assertPerft(POSITION_3, 14, 191, 2812);
+    }
+
+    @Test
+    void position5() {
+        assertPerft(POSITION_5, 44, 1486, 62379);
+    }
+
+    @Test
+    void parallelPerftMatchesSequentialPerft() {
+        final Board board = FenUtils.createBoardFromFen(KIWIPETE);
+        assertEquals(97862, Perft.parallelPerft(board, 3, 2, new PerftHashTable(1)));
+        assertEquals(97862, Perft.parallelPerft(board, 3, 2, null));
+    }
+
+    /**
+     * @param fen    of the position
+     * @param counts expected leaf nodes from depth 1 on
+     */
+    private static void assertPerft(String fen, long... counts) {
+        final Board board = FenUtils.createBoardFromFen(fen);
+        for (int depth = 1; depth <= counts.length; depth++) {
+            assertEquals(counts[depth - 1], Perft.perft(board, depth), "perft " + depth + " of " + fen);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+import pieces.Piece.PieceType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests the static exchange evaluation with exchanges whose outcome is known exactly
+ */
+class StaticExchangeEvaluationTest {
+
+    @Test
+    void undefendedPawnIsWon() {
+        assertEquals(100, exchange("4k3/8/8/3p4/8/8/8/3RK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    void defendedPawnLosesTheRook() {
+        assertEquals(100 - 500, exchange("4k3/8/4p3/3p4/8/8/8/3RK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    void pawnTakesDefendedKnight() {
+        assertEquals(320 - 100, exchange("4k3/8/2p5/3n4/4P3/8/8/4K3 w - - 0 1", "e4", "d5"));
+    }
+
+    @Test
+    void rookBehindCapturingRookJoinsExchange() {
+        // without the rook on d1, the rook on d2 would be lost for a pawn
+        assertEquals(100, exchange("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2", "d5"));
+        assertEquals(100 - 500, exchange("3rk3/8/8/3p4/8/8/3R4/4K3 w - - 0 1", "d2", "d5"));
+    }
+
+    @Test
+    void enPassantCaptureWinsPawn() {
+        assertEquals(100, exchange("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5", "d6"));
+    }
+
+    @Test
+    void quietMoveOntoAttackedSquareLosesThePiece() {
+        assertEquals(-900, exchange("4k3/8/2p5/8/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+        assertEquals(0, exchange("4k3/8/8/8/8/8/8/3QK3 w - - 0 1", "d1", "d5"));
+    }
+
+    @Test
+    void promotionWinsUpgrade() {
+        final Board board = FenUtils.createBoardFromFen("7k/4P3/8/8/8/8/8/4K3 w - - 0 1");
+        for (Move.PawnPromotion promotion : Move.MoveFactory.getPromotionMoves(board)) {
+            if (promotion.getUpgradeType() == PieceType.QUEEN) {
+                assertEquals(900 - 100, board.staticExchangeEvaluation(promotion));
+                return;
+            }
+        }
+        fail("no queen promotion found");
+    }
+
+    @Test
+    void castlingIsNeutral() {
+        assertEquals(0, exchange("4k3/8/8/8/8/8/8/4K2R w K - 0 1", "e1", "g1"));
+    }
+
+    /**
+     * @param fen         of the position
+     * @param start       square of the move, in algebraic notation
+     * @param destination square of the move, in algebraic notation
+     * @return static exchange evaluation of the move
+     */
+    private static int exchange(String fen, String start, String destination) {
+        final Board board = FenUtils.createBoardFromFen(fen);
+        final BoardUtils utils = BoardUtils.getInstance();
+        final Move move = Move.MoveFactory.createMove(board, utils.getCoordinateFromAlgebraicNotation(start),
+                utils.getCoordinateFromAlgebraicNotation(destination));
+        assertTrue(board.currentPlayer().getLegalMoves().contains(move), "move " + start + destination + " is not legal");
+        return board.staticExchangeEvaluation(move);
+    }
+}
@@ -0,0 +1,63 @@
+package board;
+
+import org.junit.jupiter.api.Test;
+import player.MoveTransition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that boards of the same position hash the same, however the position was reached,
+ * and that positions with different castling rights hash differently
+ */
+class ZobristHashingTest {
+
+    @Test
+    void knightsMovingBackRepeatStartPosition() {
+        final Board start = Board.createStandardBoard();
+        final Board repeated = play(start, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(start.getZobristHash(), repeated.getZobristHash());
+    }
+
+    @Test
+    void moveOrderDoesNotChangeHash() {
+        final Board start = Board.createStandardBoard();
+        final Board knightFirst = play(start, "g1", "f3", "d7", "d5", "d2", "d4");
+        final Board pawnFirst = play(start, "d2", "d4", "d7", "d5", "g1", "f3");
+        assertEquals(knightFirst.getZobristHash(), pawnFirst.getZobristHash());
+    }
+
+    @Test
+    void rookMovingBackLosesCastlingRights() {
+        final Board board = FenUtils.createBoardFromFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        final Board repeated = play(board, "h1", "h2", "e8", "d8", "h2", "h1", "d8", "e8");
+        assertNotEquals(board.getZobristHash(), repeated.getZobristHash());
+    }
+
+    @Test
+    void kingMovingBackLosesCastlingRights() {
+        final Board board = FenUtils.createBoardFromFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1");
+        final Board repeated = play(board, "e1", "d1", "e8", "d8", "d1", "e1", "d8", "e8");
+        assertNotEquals(board.getZobristHash(), repeated.getZobristHash());
+    }
+
+    /**
+     * Make legal moves on a board
+     *
+     * @param board   to move on
+     * @param squares start and destination square of every move, in algebraic notation
+     * @return board after the moves
+     */
+    private static Board play(Board board, String... squares) {
+        final BoardUtils utils = BoardUtils.getInstance();
+        for (int i = 0; i < squares.length; i += 2) {
+            final Move move = Move.MoveFactory.createMove(board, utils.getCoordinateFromAlgebraicNotation(squares[i]),
+                    utils.getCoordinateFromAlgebraicNotation(squares[i + 1]));
+            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+            assertTrue(moveTransition.getMoveStatus().isDone(), "move " + squares[i] + squares[i + 1] + " is not legal");
+            board = moveTransition.getTransitionBoard();
+        }
+        return board;
+    }
+}
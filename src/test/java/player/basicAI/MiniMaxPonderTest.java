@@ -0,0 +1,72 @@
+package player.basicAI;
+
+import board.Board;
+import board.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that a search of the position the strategy is pondering on gets the result its limits ask for
+ */
+class MiniMaxPonderTest {
+    private static final long PONDER_TIME = 500;
+
+    @Test
+    void ponderHitFindsBestMove() throws InterruptedException {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board ponderBoard = startPondering(strategy);
+        final SearchResult result = strategy.search(ponderBoard, SearchLimits.depth(3));
+        // the statistics of a continued ponder search include the time spent pondering
+        assertTrue(result.getStats().getTimeMillis() >= PONDER_TIME, "the ponder search was not continued");
+        assertEquals(1, result.getCandidateMoves().size());
+        assertTrue(ponderBoard.currentPlayer().makeMove(result.getBestMove()).getMoveStatus().isDone());
+    }
+
+    @Test
+    void stoppedPonderSearchIsNotContinued() throws InterruptedException {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board ponderBoard = startPondering(strategy);
+        strategy.stopPondering();
+        final SearchResult result = strategy.search(ponderBoard, SearchLimits.depth(3));
+        // a new search reaches the asked depth, and its statistics do not include the time spent pondering
+        assertEquals(3, result.getStats().getDepth());
+        assertTrue(result.getStats().getTimeMillis() < PONDER_TIME, "the ponder search was continued");
+        assertTrue(ponderBoard.currentPlayer().makeMove(result.getBestMove()).getMoveStatus().isDone());
+    }
+
+    @Test
+    void ponderHitWithMultiPvFindsEveryLine() throws InterruptedException {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board ponderBoard = startPondering(strategy);
+        final SearchResult result = strategy.search(ponderBoard, new SearchLimits.Builder()
+                .setMaxDepth(3)
+                .setMultiPv(3)
+                .build());
+        assertEquals(3, result.getCandidateMoves().size());
+        assertEquals(MoveCodes.encode(result.getBestMove()),
+                MoveCodes.encode(result.getCandidateMoves().get(0).getMove()));
+    }
+
+    /**
+     * Search the initial position, play the best move and ponder on the predicted reply until the ponder search
+     * has completed a few iterations
+     *
+     * @param strategy to ponder with
+     * @return a new board of the position the strategy is pondering on, as made by the opponent
+     */
+    private static Board startPondering(MiniMax strategy) throws InterruptedException {
+        final Board board = Board.createStandardBoard();
+        final List<Move> line = strategy.search(board, SearchLimits.depth(4)).getPrincipalVariation();
+        assertTrue(line.size() >= 2, "the search found no reply to ponder on");
+        final Board afterMove = board.currentPlayer().makeMove(line.get(0)).getTransitionBoard();
+        strategy.ponder(afterMove);
+        Thread.sleep(PONDER_TIME);
+        // the moves of the line belong to the boards of the search, the reply is looked up on the played board
+        final Move reply = MoveCodes.find(afterMove.currentPlayer().getLegalMoves(), MoveCodes.encode(line.get(1)));
+        return afterMove.currentPlayer().makeMove(reply).getTransitionBoard();
+    }
+}
@@ -0,0 +1,83 @@
+package player.basicAI;
+
+import board.Board;
+import board.BoardUtils;
+import board.FenUtils;
+import board.Move;
+import board.Move.MoveFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that Monte Carlo tree search finds a forced mate, does not move in a finished game,
+ * and only returns legal moves when several threads grow the same tree
+ */
+class MonteCarloTreeSearchTest {
+    private static final int THREAD_COUNT = 4;
+    private static final SearchLimits LIMITS = new SearchLimits.Builder().setMaxNodes(5_000).build();
+
+    @Test
+    void mateInOneIsFound() {
+        final MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(1000, true, false);
+        final Board board = FenUtils.createBoardFromFen("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+        final SearchResult result = strategy.search(board, LIMITS);
+        assertEquals(MoveCodes.encode(move(board, "a1", "a8")), MoveCodes.encode(result.getBestMove()));
+    }
+
+    @Test
+    void checkmatedRootHasNoMove() {
+        assertNoMove("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+    }
+
+    @Test
+    void stalematedRootHasNoMove() {
+        assertNoMove("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+    }
+
+    @Test
+    void multiThreadedSearchReturnsLegalMoves() {
+        final MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(1000, true, false,
+                MonteCarloTreeSearch.DEFAULT_TREE_SIZE, THREAD_COUNT);
+        for (String fen : SearchBenchmark.POSITIONS) {
+            final Board board = FenUtils.createBoardFromFen(fen);
+            for (int i = 0; i < 3; i++) {
+                final SearchResult result = strategy.search(board, LIMITS);
+                assertTrue(board.currentPlayer().makeMove(result.getBestMove()).getMoveStatus().isDone(),
+                        "illegal move " + result.getBestMove() + " in " + fen);
+                for (CandidateMove candidate : result.getCandidateMoves()) {
+                    assertTrue(board.currentPlayer().makeMove(candidate.getMove()).getMoveStatus().isDone(),
+                            "illegal candidate " + candidate.getMove() + " in " + fen);
+                }
+            }
+        }
+    }
+
+    /**
+     * Search a position where the game is over, with one and with several threads
+     *
+     * @param fen of a checkmate or stalemate
+     */
+    private static void assertNoMove(String fen) {
+        for (int threadCount : new int[]{1, THREAD_COUNT}) {
+            final MonteCarloTreeSearch strategy = new MonteCarloTreeSearch(1000, true, false,
+                    MonteCarloTreeSearch.DEFAULT_TREE_SIZE, threadCount);
+            final SearchResult result = strategy.search(FenUtils.createBoardFromFen(fen), LIMITS);
+            assertTrue(result.getBestMove() instanceof Move.NullMove, "found " + result.getBestMove());
+            assertTrue(result.getCandidateMoves().isEmpty());
+        }
+    }
+
+    /**
+     * @param board to make the move on
+     * @param start square of the moved piece, in algebraic notation
+     * @param dest  square the piece moves to, in algebraic notation
+     * @return the move on the board
+     */
+    private static Move move(Board board, String start, String dest) {
+        final BoardUtils utils = BoardUtils.getInstance();
+        return MoveFactory.createMove(board, utils.getCoordinateFromAlgebraicNotation(start),
+                utils.getCoordinateFromAlgebraicNotation(dest));
+    }
+}
@@ -0,0 +1,75 @@
+package player.basicAI;
+
+import board.FenUtils;
+import board.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the root splitting search finds the same result as the sequential search with the same root state,
+ * whatever the number of threads
+ */
+class RootSplitMiniMaxTest {
+    private static final String[] POSITIONS = {
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1",
+            "r5k1/5Npp/8/8/2Q5/8/8/6K1 w - - 0 1",
+            "8/2k5/8/8/3K4/8/4P3/8 w - - 0 1"
+    };
+
+    @Test
+    void resultMatchesSequentialSearch() {
+        for (String fen : POSITIONS) {
+            for (int depth = 3; depth <= 4; depth++) {
+                final MiniMax miniMax = new MiniMax(depth, 1000, true, false);
+                miniMax.setRootSearch(RootSearch.PER_ROOT_MOVE);
+                final SearchResult sequential = miniMax.search(FenUtils.createBoardFromFen(fen), SearchLimits.depth(depth));
+                assertSameResult(sequential, search(fen, depth, 3), fen + " at depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void resultDoesNotDependOnThreadCount() {
+        for (String fen : POSITIONS) {
+            for (int depth = 3; depth <= 4; depth++) {
+                final SearchResult sequential = search(fen, depth, 1);
+                final SearchResult parallel = search(fen, depth, 3);
+                assertSameResult(sequential, parallel, fen + " at depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void repeatedSearchFindsSameResult() {
+        final SearchResult first = search(POSITIONS[0], 4, 2);
+        final SearchResult second = search(POSITIONS[0], 4, 2);
+        assertSameResult(first, second, POSITIONS[0]);
+    }
+
+    private static SearchResult search(String fen, int depth, int parallelism) {
+        final RootSplitMiniMax strategy = new RootSplitMiniMax(depth, 1000, true, false, parallelism);
+        try {
+            return strategy.search(FenUtils.createBoardFromFen(fen), SearchLimits.depth(depth));
+        } finally {
+            strategy.shutdown();
+        }
+    }
+
+    private static List<Integer> codes(List<Move> moves) {
+        final List<Integer> codes = new ArrayList<>();
+        for (Move move : moves) codes.add(MoveCodes.encode(move));
+        return codes;
+    }
+
+    private static void assertSameResult(SearchResult expected, SearchResult actual, String position) {
+        // moves of different searches belong to different boards, so they are compared by their codes
+        assertEquals(MoveCodes.encode(expected.getBestMove()), MoveCodes.encode(actual.getBestMove()), "best move of " + position);
+        assertEquals(expected.getStats().getScore(), actual.getStats().getScore(), "score of " + position);
+        assertEquals(codes(expected.getPrincipalVariation()), codes(actual.getPrincipalVariation()), "line of " + position);
+        assertEquals(expected.getStats().getDepth(), actual.getStats().getDepth(), "depth of " + position);
+    }
+}
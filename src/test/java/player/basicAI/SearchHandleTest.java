@@ -0,0 +1,76 @@
+package player.basicAI;
+
+import board.Board;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that cancelling a search handle stops its own search, and no other search of the same strategy
+ */
+class SearchHandleTest {
+    // longer than any test may take, a search with this time only ends when it is cancelled
+    private static final long UNLIMITED_TIME = 600_000;
+
+    @Test
+    void cancellingQueuedSearchLeavesRunningSearchAlone() throws Exception {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board board = Board.createStandardBoard();
+        final SearchHandle running = strategy.start(board, SearchLimits.moveTime(1000));
+        Thread.sleep(100);
+        final SearchHandle queued = strategy.start(board, SearchLimits.moveTime(UNLIMITED_TIME));
+        Thread.sleep(100);
+        assertTrue(queued.cancel());
+
+        final SearchResult result = running.getResult();
+        assertFalse(running.isCancelled());
+        assertTrue(result.getStats().getTimeMillis() >= 900, "the running search was cut short");
+        assertNotNull(result.getBestMove().getMovedPiece());
+
+        // the cancelled search does not take the strategy once the running one is done
+        final long startTime = System.currentTimeMillis();
+        strategy.search(board, SearchLimits.depth(1));
+        assertTrue(System.currentTimeMillis() - startTime < 5000, "the cancelled search still ran");
+    }
+
+    @Test
+    void queuedSearchTimeCountsFromStart() throws Exception {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board board = Board.createStandardBoard();
+        final SearchHandle running = strategy.start(board, SearchLimits.moveTime(1500));
+        final long startTime = System.currentTimeMillis();
+        final SearchHandle queued = strategy.start(board, SearchLimits.moveTime(1500));
+
+        // the queued search waits for the running one, and that wait is part of its move time
+        assertNotNull(queued.getResult().getBestMove().getMovedPiece());
+        assertTrue(running.isDone());
+        assertTrue(System.currentTimeMillis() - startTime < 2500, "the wait was not counted");
+    }
+
+    @Test
+    void cancellingRunningSearchFreesStrategy() throws Exception {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final Board board = Board.createStandardBoard();
+        final SearchHandle running = strategy.start(board, SearchLimits.moveTime(UNLIMITED_TIME));
+        Thread.sleep(200);
+        assertTrue(running.cancel());
+        assertTrue(running.isCancelled());
+
+        final long startTime = System.currentTimeMillis();
+        strategy.search(board, SearchLimits.depth(1));
+        assertTrue(System.currentTimeMillis() - startTime < 5000, "the cancelled search still ran");
+    }
+
+    @Test
+    void cancelledTokenSkipsSearch() {
+        final MiniMax strategy = new MiniMax(SearchLimits.MAX_DEPTH, 1000, true, false);
+        final CancellationToken token = new CancellationToken();
+        token.cancel();
+        final SearchResult result = strategy.search(Board.createStandardBoard(), SearchLimits.depth(3), token);
+        assertTrue(result.getCandidateMoves().isEmpty());
+        assertEquals(0, result.getStats().getNodes());
+    }
+}
@@ -0,0 +1,88 @@
+package player.basicAI;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the packing of transposition table entries and the replacement policy
+ */
+class TranspositionTableTest {
+    private static final long HASH = 0x1234_5678_9ABC_DEF0L;
+    // same slot as HASH, different key verification
+    private static final long COLLIDING_HASH = HASH ^ (1L << 60);
+
+    @Test
+    void entryFieldsSurviveRoundTrip() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, 63, TranspositionTable.BOUND_UPPER, -12345, 0x7FFF);
+        final long entry = table.probe(HASH);
+        assertEquals(63, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.BOUND_UPPER, TranspositionTable.bound(entry));
+        assertEquals(-12345, TranspositionTable.score(entry));
+        assertEquals(0x7FFF, TranspositionTable.moveCode(entry));
+    }
+
+    @Test
+    void mateScoresKeepTheirSign() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, 5, TranspositionTable.BOUND_EXACT, SearchWorker.MATE_SCORE - 7, MoveCodes.NO_MOVE);
+        assertEquals(SearchWorker.MATE_SCORE - 7, TranspositionTable.score(table.probe(HASH)));
+        table.store(HASH, 5, TranspositionTable.BOUND_LOWER, -SearchWorker.MATE_SCORE + 7, MoveCodes.NO_MOVE);
+        assertEquals(-SearchWorker.MATE_SCORE + 7, TranspositionTable.score(table.probe(HASH)));
+        assertEquals(TranspositionTable.BOUND_LOWER, TranspositionTable.bound(table.probe(HASH)));
+    }
+
+    @Test
+    void scoreAndDepthAreClamped() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, 100, TranspositionTable.BOUND_EXACT, Integer.MAX_VALUE, MoveCodes.NO_MOVE);
+        final long entry = table.probe(HASH);
+        assertEquals((1 << 21) - 1, TranspositionTable.score(entry));
+        assertEquals(63, TranspositionTable.depth(entry));
+        table.store(HASH, -1, TranspositionTable.BOUND_EXACT, Integer.MIN_VALUE, MoveCodes.NO_MOVE);
+        assertEquals(-((1 << 21) - 1), TranspositionTable.score(table.probe(HASH)));
+        assertEquals(0, TranspositionTable.depth(table.probe(HASH)));
+    }
+
+    @Test
+    void otherPositionInSlotIsNotFound() {
+        final TranspositionTable table = new TranspositionTable(1);
+        assertEquals(0L, table.probe(HASH));
+        table.store(HASH, 3, TranspositionTable.BOUND_EXACT, 10, 1);
+        assertEquals(0L, table.probe(COLLIDING_HASH));
+    }
+
+    @Test
+    void deeperEntryOfCurrentSearchIsKept() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        table.store(HASH, 8, TranspositionTable.BOUND_EXACT, 10, 1);
+        table.store(COLLIDING_HASH, 4, TranspositionTable.BOUND_EXACT, 20, 2);
+        assertEquals(8, TranspositionTable.depth(table.probe(HASH)));
+        assertEquals(0L, table.probe(COLLIDING_HASH));
+
+        // the same position is always replaced
+        table.store(HASH, 2, TranspositionTable.BOUND_LOWER, 30, 3);
+        assertEquals(2, TranspositionTable.depth(table.probe(HASH)));
+    }
+
+    @Test
+    void entryOfEarlierSearchIsReplaced() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, 8, TranspositionTable.BOUND_EXACT, 10, 1);
+        table.newSearch();
+        table.store(COLLIDING_HASH, 4, TranspositionTable.BOUND_EXACT, 20, 2);
+        assertEquals(0L, table.probe(HASH));
+        assertEquals(20, TranspositionTable.score(table.probe(COLLIDING_HASH)));
+    }
+
+    @Test
+    void bestMoveIsKeptWhenNoneIsStored() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(HASH, 3, TranspositionTable.BOUND_EXACT, 10, 0x1ABC);
+        table.store(HASH, 4, TranspositionTable.BOUND_UPPER, -5, MoveCodes.NO_MOVE);
+        assertEquals(0x1ABC, TranspositionTable.moveCode(table.probe(HASH)));
+        assertEquals(-5, TranspositionTable.score(table.probe(HASH)));
+    }
+}